@@ -0,0 +1,109 @@
+package bench;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark JMH dos lineares (e seus paralelos), separado do SortBenchmark porque eles
+ * ignoram input e representation: lá cada trial se repetiria 10 vezes com o mesmo vetor.
+ * - Parâmetros: algorithm, size, seed e threads (0 = commonPool).
+ * - Entradas como no Runner: COUNTING/RADIX usam int[] em [0, size] e BUCKET usa
+ *   double[] em [0, 1), com o número de buckets padrão.
+ * - Base gerada uma vez por trial e recopiada antes de CADA chamada, fora da medição.
+ *
+ * Uso (módulo jmh/):
+ *   java -jar jmh/target/benchmarks.jar LinearSortBenchmark -p size=10000000
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class LinearSortBenchmark {
+
+    @Param({"COUNTING", "PARALLEL_COUNTING", "RADIX", "PARALLEL_RADIX",
+            "BUCKET", "PARALLEL_BUCKET"})
+    public Scenario.Algorithm algorithm;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"42"})
+    public long seed;
+
+    @Param({"0"})
+    public int threads;
+
+    // bases (geradas uma vez por trial) e vetores de trabalho (recopiados a cada chamada)
+    private int[] intBase, ints;
+    private double[] doubleBase, doubles;
+
+    private Runnable execucao;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Runner.SortRegistry lineares = Runner.SortRegistry.lineares();
+
+        if (algorithm == Scenario.Algorithm.BUCKET || algorithm == Scenario.Algorithm.PARALLEL_BUCKET) {
+            doubleBase = Runner.genRandomDouble01Local(size, seed);
+            doubles = new double[size];
+            Runner.BucketSorter sorter = exigir(lineares.getBucket(algorithm));
+            execucao = () -> sorter.sort(doubles, 0);
+        } else {
+            intBase = Runner.genRandomIntPrimitiveLocal(size, 0, Math.max(1, size), seed);
+            ints = new int[size];
+            Runner.IntSorter sorter = exigir(lineares.getInt(algorithm));
+            execucao = () -> sorter.sort(ints);
+        }
+        if (threads > 0) pool = new ForkJoinPool(threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void copiar() {
+        if (intBase != null)    System.arraycopy(intBase, 0, ints, 0, intBase.length);
+        if (doubleBase != null) System.arraycopy(doubleBase, 0, doubles, 0, doubleBase.length);
+    }
+
+    @Benchmark
+    public Object sort() {
+        if (pool == null) execucao.run();
+        else pool.submit(execucao).join();
+        return ints != null ? ints : doubles;
+    }
+
+    /** Confere, fora da medição, que a última chamada deixou o vetor ordenado. */
+    @TearDown(Level.Trial)
+    public void conferir() {
+        if (pool != null) pool.shutdown();
+        if (ints != null && !Validator.isSorted(ints)) {
+            throw new IllegalStateException(algorithm + " não ordenou int[]: " + Arrays.toString(Arrays.copyOf(ints, 16)));
+        }
+        if (doubles != null && !Validator.isSorted(doubles)) {
+            throw new IllegalStateException(algorithm + " não ordenou double[]");
+        }
+    }
+
+    private <S> S exigir(S sorter) {
+        if (sorter == null) {
+            throw new IllegalArgumentException("Sorter não registrado para " + algorithm);
+        }
+        return sorter;
+    }
+}
@@ -0,0 +1,147 @@
+package bench;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark JMH dos mesmos cenários do Runner, para medir sem o ruído de Timer.time
+ * (sem aquecimento, sem fork, sem proteção contra eliminação de código morto).
+ * - Parâmetros: algorithm (Scenario.Algorithm), input (InputType), size, representation
+ *   (BOXED = Integer[], PRIMITIVE = int[]), seed e threads (0 = commonPool).
+ * - O vetor-base é gerado uma vez por trial com os mesmos geradores do Runner; antes de
+ *   CADA chamada, @Setup(Level.Invocation) copia a base para o vetor de trabalho
+ *   (arraycopy num vetor já alocado, fora da medição).
+ * - O sorter vem do mesmo registro do Runner (selecao()); o vetor ordenado (ou a
+ *   resposta da seleção) é devolvido para o JMH consumir. Seleção usa k = 100.
+ * - Cobre comparativos, comparativos paralelos e seleção. Os lineares ignoram input e
+ *   representation e ficam no LinearSortBenchmark, para não se multiplicarem por eles.
+ * - Os quadráticos (BUBBLE, INSERTION, SELECTION) ficam fora da lista padrão; rode com
+ *   n pequeno: -p algorithm=INSERTION -p size=10000.
+ *
+ * Uso (módulo jmh/):
+ *   mvn -f jmh/pom.xml package
+ *   java -jar jmh/target/benchmarks.jar SortBenchmark -p size=1000000 -p representation=PRIMITIVE
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SortBenchmark {
+
+    @Param({"MERGE", "QUICK", "INTRO", "QUICK_3WAY", "DUAL_PIVOT", "TIM", "SHELL",
+            "HEAP", "HEAP_FLOYD", "HEAP_4ARY", "PARALLEL_MERGE", "PARALLEL_QUICK",
+            "SELECT", "PARTIAL_SORT", "TOP_K"})
+    public Scenario.Algorithm algorithm;
+
+    @Param({"RAND", "DUPS", "ASC", "DESC", "PIPE"})
+    public Scenario.InputType input;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"BOXED", "PRIMITIVE"})
+    public Scenario.Representation representation;
+
+    @Param({"42"})
+    public long seed;
+
+    @Param({"0"})
+    public int threads;
+
+    // bases (geradas uma vez por trial) e vetores de trabalho (recopiados a cada chamada)
+    private Integer[] boxedBase, boxed;
+    private int[] intBase, ints;
+
+    private Supplier<Object> execucao;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Scenario scenario = new Scenario(algorithm, input, representation, size,
+                                         null, null, null, null, 1, seed);
+        Runner.SortRegistry registro = Runner.SortRegistry.selecao();
+        boolean primitivo = representation == Scenario.Representation.PRIMITIVE;
+
+        if (Runner.COMPARATIVES.contains(algorithm)) {
+            boxedBase = Runner.gerarBaseComparativa(scenario);
+            if (primitivo) {
+                intBase = Runner.toPrimitive(boxedBase);
+                boxedBase = null;
+                Runner.IntSorter sorter = exigir(registro.getInt(algorithm));
+                execucao = () -> { sorter.sort(ints); return ints; };
+            } else {
+                Runner.SorterComparable sorter = exigir(registro.getComparable(algorithm));
+                execucao = () -> { sorter.sort(boxed); return boxed; };
+            }
+
+        } else if (Runner.SELECTIONS.contains(algorithm)) {
+            boxedBase = Runner.gerarBaseComparativa(scenario);
+            int k = Math.min(size, Runner.DEFAULT_K);
+            if (primitivo) {
+                intBase = Runner.toPrimitive(boxedBase);
+                boxedBase = null;
+                Runner.IntSelector selector = exigir(registro.getIntSelector(algorithm));
+                execucao = () -> selector.select(ints, k);
+            } else {
+                Runner.IntegerSelector selector = exigir(registro.getSelector(algorithm));
+                execucao = () -> selector.select(boxed, k);
+            }
+
+        } else {
+            throw new IllegalArgumentException(algorithm + " é linear: use o LinearSortBenchmark");
+        }
+
+        if (boxedBase != null)  boxed = new Integer[boxedBase.length];
+        if (intBase != null)    ints = new int[intBase.length];
+        if (threads > 0) pool = new ForkJoinPool(threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void copiar() {
+        if (boxedBase != null)  System.arraycopy(boxedBase, 0, boxed, 0, boxedBase.length);
+        if (intBase != null)    System.arraycopy(intBase, 0, ints, 0, intBase.length);
+    }
+
+    @Benchmark
+    public Object sort() {
+        return pool == null ? execucao.get() : pool.submit(execucao::get).join();
+    }
+
+    /** Confere, fora da medição, que a última chamada deixou o vetor ordenado. */
+    @TearDown(Level.Trial)
+    public void conferir() {
+        if (pool != null) pool.shutdown();
+        boolean seletor = Runner.SELECTIONS.contains(algorithm);
+        if (!seletor && ints != null && !Validator.isSorted(ints)) {
+            throw new IllegalStateException(algorithm + " não ordenou int[]: " + Arrays.toString(Arrays.copyOf(ints, 16)));
+        }
+        if (!seletor && boxed != null && !Validator.isSorted(boxed)) {
+            throw new IllegalStateException(algorithm + " não ordenou Integer[]");
+        }
+    }
+
+    private <S> S exigir(S sorter) {
+        if (sorter == null) {
+            throw new IllegalArgumentException("Sorter não registrado para " + algorithm + " (" + representation + ")");
+        }
+        return sorter;
+    }
+}
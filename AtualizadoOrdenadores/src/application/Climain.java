@@ -1,6 +1,14 @@
 package application;
 
+import bench.Generator;
+import bench.Runner;
 import bench.RunnerTerminal;
+import sorting.ExternalMergeSort;
+import sorting.MappedFileSort;
+
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.List;
 
 public class Climain {
 
@@ -9,7 +17,12 @@ public class Climain {
             System.out.println(
                 "Uso:\n" +
                 "  java -cp out application.CliMain bench --n <int> --reps <int> --seed <long> --csv resultados/resultados.csv\n" +
-                "  java -cp out application.CliMain demo  --alg <shell|heap|merge|quick|insertion|selection|bubble> --n <int> --seed <long> --passos <int>\n"
+                "  java -cp out application.CliMain demo  --alg <shell|heap|merge|quick|insertion|selection|bubble> --n <int> --seed <long> --passos <int>\n" +
+                "  java -cp out application.CliMain extsort --in <arquivo> --out <arquivo> [--in-format bin|txt] [--out-format bin|txt]\n" +
+                "                                           [--mem-mb <int>] [--fan-in <int>] [--tmp <dir>]\n" +
+                "  java -cp out application.CliMain mmapsort --file <arquivo> [--type int|long] [--alg radix|quick]\n" +
+                "                                            [--order big|little] [--gen <n> --seed <long>]\n" +
+                "  java -Dsorting.metricas=true -cp out application.CliMain metricas [--n <int>] [--seed <long>]\n"
             );
             System.exit(1);
         }
@@ -57,9 +70,107 @@ public class Climain {
                 System.exit(2);
             }
         }
+        else if ("extsort".equalsIgnoreCase(cmd)) {
+            // merge sort externo: arquivo de inteiros maior que a memória -> arquivo ordenado
+            String in = null, out = null, tmp = null;
+            String inFmt = "bin", outFmt = "bin";
+            int memMb = 64, fanIn = 64;
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--in":         in     = args[++i]; break;
+                    case "--out":        out    = args[++i]; break;
+                    case "--in-format":  inFmt  = args[++i]; break;
+                    case "--out-format": outFmt = args[++i]; break;
+                    case "--mem-mb":     memMb  = Integer.parseInt(args[++i]); break;
+                    case "--fan-in":     fanIn  = Integer.parseInt(args[++i]); break;
+                    case "--tmp":        tmp    = args[++i]; break;
+                    default: System.out.println("Parâmetro desconhecido: " + args[i]);
+                }
+            }
+            if (in == null || out == null) {
+                System.out.println("extsort: informe --in e --out");
+                System.exit(1);
+            }
+            try {
+                ExternalMergeSort ordenador = new ExternalMergeSort()
+                        .memoria((long) memMb << 20)
+                        .fanIn(fanIn)
+                        .dirTemporario(tmp == null ? null : Path.of(tmp));
+                long t0 = System.nanoTime();
+                ExternalMergeSort.Resumo r = ordenador.sort(Path.of(in), formato(inFmt), Path.of(out), formato(outFmt));
+                long ms = (System.nanoTime() - t0) / 1_000_000;
+                System.out.println("extsort: " + r + ", tempo=" + ms + " ms -> " + Path.of(out).toAbsolutePath());
+            } catch (Exception e) {
+                e.printStackTrace();
+                System.exit(2);
+            }
+        }
+        else if ("mmapsort".equalsIgnoreCase(cmd)) {
+            // ordenação in-place de arquivo binário via memória mapeada (opcionalmente gera o arquivo antes)
+            String file = null, type = "int", alg = "radix", order = "big";
+            long gen = -1, seed = 42L;
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--file":  file  = args[++i]; break;
+                    case "--type":  type  = args[++i]; break;
+                    case "--alg":   alg   = args[++i]; break;
+                    case "--order": order = args[++i]; break;
+                    case "--gen":   gen   = Long.parseLong(args[++i]); break;
+                    case "--seed":  seed  = Long.parseLong(args[++i]); break;
+                    default: System.out.println("Parâmetro desconhecido: " + args[i]);
+                }
+            }
+            if (file == null) {
+                System.out.println("mmapsort: informe --file");
+                System.exit(1);
+            }
+            boolean longs = "long".equalsIgnoreCase(type);
+            ByteOrder ordem = "little".equalsIgnoreCase(order) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+            MappedFileSort.Algoritmo algoritmo = "quick".equalsIgnoreCase(alg)
+                    ? MappedFileSort.Algoritmo.QUICK
+                    : MappedFileSort.Algoritmo.RADIX;
+            try {
+                Path p = Path.of(file);
+                if (gen >= 0) Generator.genRandomBinaryFile(p, gen, longs, ordem, seed);
+                long t0 = System.nanoTime();
+                if (longs) MappedFileSort.sortLongs(p, algoritmo, ordem);
+                else       MappedFileSort.sortInts(p, algoritmo, ordem);
+                long ms = (System.nanoTime() - t0) / 1_000_000;
+                System.out.println("mmapsort: " + algoritmo + " " + (longs ? "long" : "int")
+                        + ", tempo=" + ms + " ms -> " + p.toAbsolutePath());
+            } catch (Exception e) {
+                e.printStackTrace();
+                System.exit(2);
+            }
+        }
+        else if ("metricas".equalsIgnoreCase(cmd)) {
+            // confere a instrumentação: BOXED e PRIMITIVE contam as mesmas comparações na mesma entrada
+            int n = 100000; long seed = 42L;
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--n":    n    = Integer.parseInt(args[++i]); break;
+                    case "--seed": seed = Long.parseLong(args[++i]);   break;
+                    default: System.out.println("Parâmetro desconhecido: " + args[i]);
+                }
+            }
+            List<String> divergencias = Runner.conferirMetricas(n, seed);
+            if (divergencias.isEmpty()) {
+                System.out.println("metricas: ok (n=" + n + ", seed=" + seed + ")");
+            } else {
+                divergencias.forEach(d -> System.out.println("metricas: " + d));
+                System.exit(3);
+            }
+        }
         else {
             System.out.println("Comando inválido: " + cmd);
             System.exit(1);
         }
     }
+
+    /** "txt"/"texto" -> TEXTO; qualquer outro valor -> BINARIO. */
+    private static ExternalMergeSort.Formato formato(String s) {
+        return "txt".equalsIgnoreCase(s) || "texto".equalsIgnoreCase(s)
+                ? ExternalMergeSort.Formato.TEXTO
+                : ExternalMergeSort.Formato.BINARIO;
+    }
 }
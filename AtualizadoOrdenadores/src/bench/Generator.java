@@ -1,7 +1,17 @@
 package bench;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Random;
 
+import sorting.OffHeapInts;
+import sorting.OffHeapLongs;
+import sorting.Ordenadores;
+
 public final class Generator {
     private Generator() { }
 
@@ -27,4 +37,96 @@ public final class Generator {
         for (int i = 0; i < n; i++) a[i] = min + r.nextInt(bound);
         return a;
     }
+
+    // -------------------- Entradas adversariais (pior caso do quick) --------------------
+
+    /**
+     * Integer[] "órgão de tubos": 0, 1, 2, ..., pico, ..., 2, 1, 0.
+     * Padrão clássico para estressar pivôs escolhidos por amostragem (início/meio/fim).
+     */
+    public static Integer[] genOrganPipe(int n) {
+        Integer[] a = new Integer[n];
+        for (int i = 0; i < n; i++) a[i] = Math.min(i, n - 1 - i);
+        return a;
+    }
+
+    /**
+     * Integer[] que leva Ordenadores.quickSort a O(n²) — "A Killer Adversary for Quicksort" (McIlroy).
+     * Roda o próprio quickSort sobre itens ainda sem valor ("gás"); a cada comparação entre
+     * dois gases, congela um deles com o próximo menor valor livre, de modo que o pivô acaba
+     * sempre perto do extremo. Os valores congelados formam a entrada adversarial.
+     * Como a geração executa o quick quadrático, use n na casa de 10^4.
+     */
+    public static Integer[] genQuickSortKiller(int n) {
+        final int gas = n;                 // maior que qualquer valor congelado
+        final int[] val = new int[n];
+        final int[] estado = {0, -1};      // {próximo valor a congelar, candidato a pivô}
+        java.util.Arrays.fill(val, gas);
+
+        final class Item implements Comparable<Item> {
+            final int id;
+            Item(int id) { this.id = id; }
+
+            @Override
+            public int compareTo(Item o) {
+                int x = id, y = o.id;
+                if (val[x] == gas && val[y] == gas) {
+                    if (x == estado[1]) val[x] = estado[0]++;
+                    else                val[y] = estado[0]++;
+                }
+                if (val[x] == gas)      estado[1] = x;
+                else if (val[y] == gas) estado[1] = y;
+                return Integer.compare(val[x], val[y]);
+            }
+        }
+
+        Item[] itens = new Item[n];
+        for (int i = 0; i < n; i++) itens[i] = new Item(i);
+        Ordenadores.quickSort(itens);
+
+        Integer[] a = new Integer[n];
+        for (int i = 0; i < n; i++) a[i] = val[i];
+        return a;
+    }
+
+    /**
+     * Grava 'n' valores aleatórios binários (int de 4 bytes ou long de 8) em 'arquivo',
+     * em blocos, sem montar o vetor em memória — entrada para o merge externo e para a
+     * ordenação mapeada com arquivos de vários GB.
+     */
+    public static void genRandomBinaryFile(Path arquivo, long n, boolean longs, ByteOrder ordem, long seed)
+            throws IOException {
+        Random rnd = new Random(seed);
+        ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ordem);
+        try (FileChannel ch = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (long i = 0; i < n; i++) {
+                if (buf.remaining() < 8) {
+                    buf.flip();
+                    while (buf.hasRemaining()) ch.write(buf);
+                    buf.clear();
+                }
+                if (longs) buf.putLong(rnd.nextLong());
+                else       buf.putInt(rnd.nextInt());
+            }
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+        }
+    }
+
+    /** 'n' int aleatórios direto num vetor off-heap (n pode passar de 2^31). */
+    public static OffHeapInts genRandomOffHeapInts(long n, long seed) {
+        Random rnd = new Random(seed);
+        OffHeapInts a = OffHeapInts.allocate(n);
+        for (long i = 0; i < n; i++) a.set(i, rnd.nextInt());
+        return a;
+    }
+
+    /** 'n' long aleatórios direto num vetor off-heap. */
+    public static OffHeapLongs genRandomOffHeapLongs(long n, long seed) {
+        Random rnd = new Random(seed);
+        OffHeapLongs a = OffHeapLongs.allocate(n);
+        for (long i = 0; i < n; i++) a.set(i, rnd.nextLong());
+        return a;
+    }
 }
@@ -0,0 +1,100 @@
+package bench;
+
+/**
+ * Histograma de tempos (nanos) em buckets log-lineares, no estilo do HdrHistogram.
+ * - Cada potência de 2 é dividida em SUB_BUCKETS/2 faixas iguais, então o valor de um
+ *   percentil sai com erro relativo <= 1/SUB_BUCKETS (~0,4%), de 1 ns até Long.MAX_VALUE,
+ *   num único long[] de tamanho fixo: registrar não aloca nem faz boxing, e 100 mil
+ *   repetições custam o mesmo que 10.
+ * - Abaixo de SUB_BUCKETS ns os buckets são exatos.
+ * - min, max, média e desvio-padrão são exatos (não dependem dos buckets); a média e a
+ *   variância são acumuladas pelo método de Welford.
+ */
+public final class Histogram {
+
+    private static final int SUB_BITS = 8;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;       // 256
+    private static final int METADE = SUB_BUCKETS >>> 1;         // 128
+    private static final int TAMANHO = indice(Long.MAX_VALUE) + 1; // 7296
+
+    private final long[] counts = new long[TAMANHO];
+    private long count;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    private double mean;
+    private double m2;
+
+    /** Registra um tempo (valores negativos contam como 0). */
+    public void record(long nanos) {
+        long v = Math.max(0L, nanos);
+        counts[indice(v)]++;
+        count++;
+        if (v < min) min = v;
+        if (v > max) max = v;
+        double delta = v - mean;
+        mean += delta / count;
+        m2 += delta * (v - mean);
+    }
+
+    public long count() { return count; }
+
+    public boolean isEmpty() { return count == 0; }
+
+    /** Menor tempo registrado (0 se vazio). */
+    public long min() { return count == 0 ? 0 : min; }
+
+    /** Maior tempo registrado (0 se vazio). */
+    public long max() { return count == 0 ? 0 : max; }
+
+    /** Média (0 se vazio). */
+    public double mean() { return mean; }
+
+    /** Desvio-padrão populacional (0 com menos de 2 tempos). */
+    public double stddev() {
+        return count < 2 ? 0.0 : Math.sqrt(m2 / count);
+    }
+
+    /**
+     * Tempo no percentil p (0..100): o menor bucket cuja contagem acumulada alcança
+     * ceil(p/100 * count), representado pelo ponto médio do bucket e limitado a [min, max]
+     * (p100 é o max exato). Devolve 0 se vazio.
+     */
+    public long percentile(double p) {
+        if (count == 0) return 0;
+        long alvo = (long) Math.ceil(Math.min(100.0, Math.max(0.0, p)) / 100.0 * count);
+        if (alvo < 1) alvo = 1;
+        if (alvo >= count) return max;
+        long acumulado = 0;
+        for (int i = 0; i < counts.length; i++) {
+            acumulado += counts[i];
+            if (acumulado >= alvo) {
+                long meio = inicio(i) + (largura(i) - 1) / 2;
+                return Math.min(max, Math.max(min, meio));
+            }
+        }
+        return max;
+    }
+
+    // ---------- Layout dos buckets ----------
+
+    /** Bucket de v >= 0: v exato abaixo de SUB_BUCKETS; acima, (magnitude, 8 bits mais altos). */
+    static int indice(long v) {
+        if (v < SUB_BUCKETS) return (int) v;
+        int magnitude = (63 - Long.numberOfLeadingZeros(v)) - (SUB_BITS - 1);
+        int sub = (int) (v >>> magnitude);                     // em [METADE, SUB_BUCKETS)
+        return magnitude * METADE + sub;
+    }
+
+    /** Menor valor que cai no bucket i. */
+    static long inicio(int i) {
+        if (i < SUB_BUCKETS) return i;
+        int magnitude = (i >>> (SUB_BITS - 1)) - 1;
+        long sub = i - (long) magnitude * METADE;
+        return sub << magnitude;
+    }
+
+    /** Quantos valores distintos cabem no bucket i. */
+    static long largura(int i) {
+        return i < SUB_BUCKETS ? 1 : 1L << ((i >>> (SUB_BITS - 1)) - 1);
+    }
+}
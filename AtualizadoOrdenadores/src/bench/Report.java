@@ -2,7 +2,8 @@ package bench;
 
 import java.util.List;
 import java.util.Locale;
-import java.util.StringJoiner;
+
+import sorting.Metricas;
 
 /**
  * Formata os resultados para consumo externo.
@@ -16,14 +17,25 @@ public final class Report {
     /**
      * Retorna uma String CSV com cabeçalho + linhas de resultados.
      * Colunas:
-     *  algorithm,input,size,repeats,avg_nanos,sorted_ok,same_multiset,notes,times_nanos
-     * 'times_nanos' sai como uma lista "t1|t2|...|tk" dentro de aspas.
+     *  algorithm,input,repr,threads,buckets,size,repeats,avg_nanos,
+     *  min_nanos,p50_nanos,p90_nanos,p99_nanos,p999_nanos,max_nanos,stddev_nanos,sorted_ok,same_multiset,
+     *  comparisons,swaps,moves,allocations,alloc_bytes,max_depth,notes
+     * 'repr' é BOXED (Integer[]) ou PRIMITIVE (int[]) — só faz diferença nos comparativos.
+     * 'threads' é o paralelismo do pool (vazio = sequencial).
+     * 'buckets' é o nº de buckets do cenário (vazio = padrão/não se aplica).
+     * min..stddev saem do Histogram do Result (percentis com erro relativo < 0,4%; min, max
+     * e desvio-padrão exatos); vazios quando não houve medição.
+     * comparisons..max_depth vêm de sorting.Metricas (última repetição); vazios quando a
+     * instrumentação está desligada e nos lineares (COUNTING, RADIX, BUCKET e paralelos),
+     * que não contam comparações.
      */
     public static String toCsv(List<Result> results) {
         StringBuilder sb = new StringBuilder();
 
         // Cabeçalho
-        sb.append("algorithm,input,size,repeats,avg_nanos,sorted_ok,same_multiset,notes,times_nanos\n");
+        sb.append("algorithm,input,repr,threads,buckets,size,repeats,avg_nanos,")
+          .append("min_nanos,p50_nanos,p90_nanos,p99_nanos,p999_nanos,max_nanos,stddev_nanos,sorted_ok,same_multiset,")
+          .append("comparisons,swaps,moves,allocations,alloc_bytes,max_depth,notes\n");
 
         // Linhas
         for (Result r : results) {
@@ -31,27 +43,36 @@ public final class Report {
 
             String alg = s.getAlgorithm().name();
             String inp = s.getInputType().name();
+            String repr = s.getRepresentation().name();
+            String threads = s.getThreads() == null ? "" : String.valueOf(s.getThreads());
+            String buckets = s.getBuckets() == null ? "" : String.valueOf(s.getBuckets());
             int size = s.getSize();
             int reps = s.getRepeats();
             String avg  = r.getAverage() == null ? "" : String.format(Locale.ROOT, "%.0f", r.getAverage());
+            String dist = r.getTimes().isEmpty() ? ",,,,,," : r.getMin() + "," + r.getP50() + "," + r.getP90() + ","
+                    + r.getP99() + "," + r.getP999() + "," + r.getMax() + ","
+                    + String.format(Locale.ROOT, "%.0f", r.getStddev());
             String ok   = r.isSortedOk() ? "1" : "0";
             String same = r.isSameMultiset() ? "1" : "0";
+            Metricas.Leitura m = r.getMetricas();
+            String metricas = m == null ? ",,,,," : m.getComparacoes() + "," + m.getTrocas() + "," + m.getMovimentos() + ","
+                    + m.getAlocacoes() + "," + m.getBytesAlocados() + "," + m.getProfundidadeMax();
             String notes = r.getNotes() == null ? "" : r.getNotes().replace(',', ';'); // evita quebrar CSV
 
-            // Serializa a lista de tempos como "t1|t2|...|tk"
-            StringJoiner sj = new StringJoiner("|");
-            for (Long t : r.getTimes()) sj.add(String.valueOf(t));
-
             // Monta a linha CSV
             sb.append(alg).append(',')
               .append(inp).append(',')
+              .append(repr).append(',')
+              .append(threads).append(',')
+              .append(buckets).append(',')
               .append(size).append(',')
               .append(reps).append(',')
               .append(avg).append(',')
+              .append(dist).append(',')
               .append(ok).append(',')
               .append(same).append(',')
-              .append(notes).append(',')
-              .append('"').append(sj.toString()).append('"')
+              .append(metricas).append(',')
+              .append(notes)
               .append('\n');
         }
         return sb.toString();
@@ -60,7 +81,8 @@ public final class Report {
     /**
      * Retorna um sumário textual simples para leitura rápida no console.
      * Exemplo:
-     * [MERGE | RAND | n=10000 | reps=10] avg=123456 ns; ok=true; same=true
+     * [MERGE | RAND | BOXED | n=10000 | reps=10] avg=123456 ns (min=120100 p50=122900 p90=127000
+     *   p99=131500 p99.9=131500 max=131800 sd=3400); ok=true; same=true
      */
     public static String summary(List<Result> results) {
         StringBuilder sb = new StringBuilder();
@@ -68,10 +90,28 @@ public final class Report {
             Scenario s = r.getScenario();
             sb.append("[")
               .append(s.getAlgorithm()).append(" | ")
-              .append(s.getInputType()).append(" | n=").append(s.getSize()).append(" | reps=").append(s.getRepeats())
+              .append(s.getInputType()).append(" | ")
+              .append(s.getRepresentation());
+            if (s.getThreads() != null) sb.append(" | threads=").append(s.getThreads());
+            if (s.getBuckets() != null) sb.append(" | buckets=").append(s.getBuckets());
+            sb.append(" | n=").append(s.getSize()).append(" | reps=").append(s.getRepeats())
               .append("] avg=").append(r.getAverage() == null ? "NA" : String.format(Locale.ROOT, "%.0f", r.getAverage()))
-              .append(" ns; ok=").append(r.isSortedOk())
+              .append(" ns");
+            if (!r.getTimes().isEmpty()) {
+                sb.append(" (min=").append(r.getMin())
+                  .append(" p50=").append(r.getP50())
+                  .append(" p90=").append(r.getP90())
+                  .append(" p99=").append(r.getP99())
+                  .append(" p99.9=").append(r.getP999())
+                  .append(" max=").append(r.getMax())
+                  .append(" sd=").append(String.format(Locale.ROOT, "%.0f", r.getStddev()))
+                  .append(')');
+            }
+            sb.append("; ok=").append(r.isSortedOk())
               .append("; same=").append(r.isSameMultiset());
+            if (r.getMetricas() != null) {
+                sb.append(" ; ").append(r.getMetricas());
+            }
             if (r.getNotes() != null && !r.getNotes().isEmpty()) {
                 sb.append(" ; notes=").append(r.getNotes());
             }
@@ -1,42 +1,68 @@
 package bench;
 
-import java.util.List;
+import sorting.Metricas;
 
 /**
  * Mantém o RESULTADO de executar um Scenario:
- * - lista de tempos individuais (em nanos),
+ * - histograma dos tempos individuais (em nanos): percentis, min, max e desvio-padrão,
  * - média,
  * - flags de validação (ordenado? multiconjunto preservado?),
- * - observações livres (ex.: "Sorter não registrado").
+ * - observações livres (ex.: "Sorter não registrado"),
+ * - contadores de sorting.Metricas da última repetição (null com a instrumentação desligada).
  */
 public final class Result {
 
     private final Scenario scenario;
-    private final List<Long> times;      // tempos por repetição (nanos)
+    private final Histogram times;       // tempos por repetição (nanos)
     private final Double average;        // média dos tempos (nanos)
     private final boolean sortedOk;      // passou isSorted
     private final boolean sameMultiset;  // preservou conteúdo (quando aplicável)
     private final String notes;          // observação textual
+    private final Metricas.Leitura metricas; // comparações/trocas/... (null = instrumentação desligada)
 
     public Result(Scenario scenario,
-                  List<Long> times,
+                  Histogram times,
                   Double average,
                   boolean sortedOk,
                   boolean sameMultiset,
                   String notes) {
+        this(scenario, times, average, sortedOk, sameMultiset, notes, null);
+    }
+
+    public Result(Scenario scenario,
+                  Histogram times,
+                  Double average,
+                  boolean sortedOk,
+                  boolean sameMultiset,
+                  String notes,
+                  Metricas.Leitura metricas) {
         this.scenario = scenario;
         this.times = times;
         this.average = average;
         this.sortedOk = sortedOk;
         this.sameMultiset = sameMultiset;
         this.notes = notes;
+        this.metricas = metricas;
+    }
+
+    /** Cópia deste resultado com os contadores informados. */
+    public Result comMetricas(Metricas.Leitura metricas) {
+        return new Result(scenario, times, average, sortedOk, sameMultiset, notes, metricas);
     }
 
     // Getters: objeto imutável, apenas leitura.
     public Scenario getScenario() { return scenario; }
-    public List<Long> getTimes() { return times; }
+    public Histogram getTimes() { return times; }
     public Double getAverage() { return average; }
+    public long getMin() { return times.min(); }
+    public long getP50() { return times.percentile(50); }
+    public long getP90() { return times.percentile(90); }
+    public long getP99() { return times.percentile(99); }
+    public long getP999() { return times.percentile(99.9); }
+    public long getMax() { return times.max(); }
+    public double getStddev() { return times.stddev(); }
     public boolean isSortedOk() { return sortedOk; }
     public boolean isSameMultiset() { return sameMultiset; }
     public String getNotes() { return notes; }
+    public Metricas.Leitura getMetricas() { return metricas; }
 }
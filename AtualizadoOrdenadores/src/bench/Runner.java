@@ -1,10 +1,28 @@
 package bench;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import sorting.BucketSort;
+import sorting.CountingSort;
+import sorting.FloydHeapSort;
+import sorting.Metricas;
+import sorting.Ordenadores;
+import sorting.ParallelBucketSort;
+import sorting.ParallelCountingSort;
+import sorting.ParallelMergeSort;
+import sorting.ParallelQuickSort;
+import sorting.ParallelRadixSort;
+import sorting.PartialSort;
+import sorting.RadixSort;
+import sorting.ShellGaps;
+import sorting.TimSort;
 
 /**
  * Orquestrador dos experimentos.
@@ -19,11 +37,27 @@ import java.util.Map;
 public final class Runner {
 
     // Conjunto de algoritmos "comparativos" (trabalham com T extends Comparable).
-    private static final EnumSet<Scenario.Algorithm> COMPARATIVES =
+    static final EnumSet<Scenario.Algorithm> COMPARATIVES =
             EnumSet.of(Scenario.Algorithm.BUBBLE, Scenario.Algorithm.INSERTION,
                        Scenario.Algorithm.SELECTION, Scenario.Algorithm.SHELL,
                        Scenario.Algorithm.HEAP, Scenario.Algorithm.MERGE,
-                       Scenario.Algorithm.QUICK);
+                       Scenario.Algorithm.QUICK, Scenario.Algorithm.INTRO,
+                       Scenario.Algorithm.QUICK_3WAY, Scenario.Algorithm.DUAL_PIVOT,
+                       Scenario.Algorithm.TIM,
+                       Scenario.Algorithm.HEAP_FLOYD, Scenario.Algorithm.HEAP_4ARY,
+                       Scenario.Algorithm.PARALLEL_MERGE,
+                       Scenario.Algorithm.PARALLEL_QUICK);
+
+    // Seleção dos k menores: mesmos dados dos comparativos, validados contra a ordenação completa.
+    static final EnumSet<Scenario.Algorithm> SELECTIONS =
+            EnumSet.of(Scenario.Algorithm.SELECT, Scenario.Algorithm.PARTIAL_SORT,
+                       Scenario.Algorithm.TOP_K);
+
+    /** k usado quando o cenário de seleção não define getK(). */
+    static final int DEFAULT_K = 100;
+
+    /** Contadores da última medição (só com Metricas.ATIVO). */
+    private Metricas.Leitura ultimasMetricas;
 
     public Runner() { }
 
@@ -47,6 +81,27 @@ public final class Runner {
         void sort(double[] a);
     }
 
+    /** Sorter para double[] que recebe o nº de buckets do cenário (0 = padrão do algoritmo). */
+    @FunctionalInterface
+    public interface BucketSorter {
+        void sort(double[] a, int numBuckets);
+    }
+
+    /**
+     * Seleção sobre int[]: devolve a resposta — os k menores em ordem crescente
+     * (no SELECT, só o k-ésimo menor, num vetor de 1 posição). Pode reorganizar 'a'.
+     */
+    @FunctionalInterface
+    public interface IntSelector {
+        int[] select(int[] a, int k);
+    }
+
+    /** Igual a IntSelector, sobre o Integer[] dos comparativos. */
+    @FunctionalInterface
+    public interface IntegerSelector {
+        Integer[] select(Integer[] a, int k);
+    }
+
     // -------------------- Catálogo de sorters (injeção de dependência simples) --------------------
 
     /**
@@ -57,6 +112,9 @@ public final class Runner {
         private final Map<Scenario.Algorithm, SorterComparable> cmpSorts = new HashMap<>();
         private final Map<Scenario.Algorithm, IntSorter> intSorts = new HashMap<>();
         private final Map<Scenario.Algorithm, DoubleSorter> dblSorts = new HashMap<>();
+        private final Map<Scenario.Algorithm, BucketSorter> bucketSorts = new HashMap<>();
+        private final Map<Scenario.Algorithm, IntegerSelector> boxedSelectors = new HashMap<>();
+        private final Map<Scenario.Algorithm, IntSelector> intSelectors = new HashMap<>();
 
         public SortRegistry registerComparable(Scenario.Algorithm alg, SorterComparable sorter) {
             cmpSorts.put(alg, sorter);
@@ -73,9 +131,96 @@ public final class Runner {
             return this;
         }
 
+        public SortRegistry registerBucket(Scenario.Algorithm alg, BucketSorter sorter) {
+            bucketSorts.put(alg, sorter);
+            return this;
+        }
+
+        public SortRegistry registerSelector(Scenario.Algorithm alg, IntegerSelector selector) {
+            boxedSelectors.put(alg, selector);
+            return this;
+        }
+
+        public SortRegistry registerIntSelector(Scenario.Algorithm alg, IntSelector selector) {
+            intSelectors.put(alg, selector);
+            return this;
+        }
+
         public SorterComparable getComparable(Scenario.Algorithm alg) { return cmpSorts.get(alg); }
         public IntSorter        getInt(Scenario.Algorithm alg)        { return intSorts.get(alg); }
         public DoubleSorter     getDouble(Scenario.Algorithm alg)     { return dblSorts.get(alg); }
+        public BucketSorter     getBucket(Scenario.Algorithm alg)     { return bucketSorts.get(alg); }
+        public IntegerSelector  getSelector(Scenario.Algorithm alg)   { return boxedSelectors.get(alg); }
+        public IntSelector      getIntSelector(Scenario.Algorithm alg) { return intSelectors.get(alg); }
+
+        /**
+         * Registro com os comparativos de sorting.Ordenadores já cadastrados nas duas
+         * representações: Integer[] (registerComparable) e int[] (registerInt).
+         * Assim o mesmo cenário roda BOXED vs PRIMITIVE e a diferença aparece no CSV.
+         */
+        public static SortRegistry comparativos() {
+            return new SortRegistry()
+                .registerComparable(Scenario.Algorithm.BUBBLE,    Ordenadores::bubbleSort)
+                .registerComparable(Scenario.Algorithm.INSERTION, Ordenadores::insertionSort)
+                .registerComparable(Scenario.Algorithm.SELECTION, Ordenadores::selectionSort)
+                .registerComparable(Scenario.Algorithm.SHELL,     Ordenadores::shellSort)
+                .registerComparable(Scenario.Algorithm.HEAP,      Ordenadores::heapSort)
+                .registerComparable(Scenario.Algorithm.MERGE,     Ordenadores::mergeSort)
+                .registerComparable(Scenario.Algorithm.QUICK,     Ordenadores::quickSort)
+                .registerComparable(Scenario.Algorithm.INTRO,     Ordenadores::introSort)
+                .registerComparable(Scenario.Algorithm.QUICK_3WAY, Ordenadores::quickSort3Way)
+                .registerComparable(Scenario.Algorithm.DUAL_PIVOT, Ordenadores::dualPivotQuickSort)
+                .registerComparable(Scenario.Algorithm.TIM,       TimSort::sort)
+                .registerComparable(Scenario.Algorithm.HEAP_FLOYD, FloydHeapSort::sort)
+                .registerComparable(Scenario.Algorithm.HEAP_4ARY,  FloydHeapSort::sort4Ary)
+                .registerComparable(Scenario.Algorithm.PARALLEL_MERGE, ParallelMergeSort::sort)
+                .registerComparable(Scenario.Algorithm.PARALLEL_QUICK, ParallelQuickSort::sort)
+                .registerInt(Scenario.Algorithm.BUBBLE,    Ordenadores::bubbleSort)
+                .registerInt(Scenario.Algorithm.INSERTION, Ordenadores::insertionSort)
+                .registerInt(Scenario.Algorithm.SELECTION, Ordenadores::selectionSort)
+                .registerInt(Scenario.Algorithm.SHELL,     Ordenadores::shellSort)
+                .registerInt(Scenario.Algorithm.HEAP,      Ordenadores::heapSort)
+                .registerInt(Scenario.Algorithm.MERGE,     Ordenadores::mergeSort)
+                .registerInt(Scenario.Algorithm.QUICK,     Ordenadores::quickSort)
+                .registerInt(Scenario.Algorithm.INTRO,     Ordenadores::introSort)
+                .registerInt(Scenario.Algorithm.QUICK_3WAY, Ordenadores::quickSort3Way)
+                .registerInt(Scenario.Algorithm.DUAL_PIVOT, Ordenadores::dualPivotQuickSort)
+                .registerInt(Scenario.Algorithm.TIM,       TimSort::sort)
+                .registerInt(Scenario.Algorithm.HEAP_FLOYD, FloydHeapSort::sort)
+                .registerInt(Scenario.Algorithm.HEAP_4ARY,  FloydHeapSort::sort4Ary)
+                .registerInt(Scenario.Algorithm.PARALLEL_MERGE, ParallelMergeSort::sort)
+                .registerInt(Scenario.Algorithm.PARALLEL_QUICK, ParallelQuickSort::sort);
+        }
+
+        /**
+         * Comparativos + seleção (sorting.PartialSort) nas duas representações, para comparar
+         * o custo de obter os k menores com o de ordenar tudo no mesmo relatório.
+         */
+        public static SortRegistry selecao() {
+            return comparativos()
+                .registerSelector(Scenario.Algorithm.SELECT,       (a, k) -> new Integer[] { PartialSort.nthElement(a, k - 1) })
+                .registerSelector(Scenario.Algorithm.PARTIAL_SORT, (a, k) -> { PartialSort.partialSort(a, k); return Arrays.copyOf(a, k); })
+                .registerSelector(Scenario.Algorithm.TOP_K,        PartialSort::topK)
+                .registerIntSelector(Scenario.Algorithm.SELECT,       (a, k) -> new int[] { PartialSort.nthElement(a, k - 1) })
+                .registerIntSelector(Scenario.Algorithm.PARTIAL_SORT, (a, k) -> { PartialSort.partialSort(a, k); return Arrays.copyOf(a, k); })
+                .registerIntSelector(Scenario.Algorithm.TOP_K,        PartialSort::topK);
+        }
+
+        /**
+         * Registro com os lineares que não dependem de parâmetros do cenário:
+         * COUNTING e PARALLEL_COUNTING (faixa detectada, denso/esparso), RADIX (LSD por
+         * bytes), PARALLEL_RADIX (MSD paralelo) e os buckets, que recebem getBuckets() do
+         * cenário (as threads vêm do pool do cenário).
+         */
+        public static SortRegistry lineares() {
+            return new SortRegistry()
+                .registerInt(Scenario.Algorithm.COUNTING,          CountingSort::sort)
+                .registerInt(Scenario.Algorithm.PARALLEL_COUNTING, ParallelCountingSort::sort)
+                .registerInt(Scenario.Algorithm.RADIX,             RadixSort::sort)
+                .registerInt(Scenario.Algorithm.PARALLEL_RADIX,    ParallelRadixSort::sort)
+                .registerBucket(Scenario.Algorithm.BUCKET,          BucketSort::sort)
+                .registerBucket(Scenario.Algorithm.PARALLEL_BUCKET, ParallelBucketSort::sort);
+        }
     }
 
     // -------------------- Execução de UM cenário --------------------
@@ -83,9 +228,27 @@ public final class Runner {
     /**
      * Executa um único Scenario usando o registro fornecido.
      * Faz: gerar base -> para cada repetição: clonar, sortear, medir, validar -> acumular Result.
+     * Se o cenário define 'threads', o sorter roda dentro de um ForkJoinPool com esse paralelismo
+     * (criado uma vez por cenário, fora da medição).
+     * Com -Dsorting.metricas=true, o Result leva os contadores de sorting.Metricas da
+     * última repetição (todas ordenam a mesma entrada) — só para comparativos e seleção;
+     * os lineares não têm ganchos em Metricas e ficam sem contadores.
      */
     public Result run(Scenario scenario, SortRegistry registry) {
-        List<Long> times = new ArrayList<>();
+        ForkJoinPool pool = scenario.getThreads() == null ? null : new ForkJoinPool(Math.max(1, scenario.getThreads()));
+        try {
+            ultimasMetricas = null;
+            Result r = run(scenario, registry, pool);
+            boolean instrumentado = COMPARATIVES.contains(scenario.getAlgorithm())
+                    || SELECTIONS.contains(scenario.getAlgorithm());
+            return ultimasMetricas == null || !instrumentado ? r : r.comMetricas(ultimasMetricas);
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+    }
+
+    private Result run(Scenario scenario, SortRegistry registry, ForkJoinPool pool) {
+        Histogram times = new Histogram(); // tempos por repetição (nanos), sem boxing
         boolean sortedOk = true;      // assume ok, invalida se achar erro
         boolean sameMultiset = true;  // idem
         String notes = "";            // anotações (ex.: sorter não registrado)
@@ -93,34 +256,47 @@ public final class Runner {
         // Decide o domínio e gera o vetor-base de acordo com o tipo de algoritmo
         if (COMPARATIVES.contains(scenario.getAlgorithm())) {
             // ---------- Caso: algoritmos comparativos (Integer[] como dado de teste) ----------
-            Integer[] base;
-            switch (scenario.getInputType()) {
-                case ASC:
-                    base = Generator.genAscending(scenario.getSize());
-                    break;
-                case DESC:
-                    base = Generator.genDescending(scenario.getSize());
-                    break;
-                case DUPS:
-                    // "muitos repetidos": usa uma fração de valores distintos (ex.: n/20)
-                    base = genManyDuplicatesLocal(
-                        scenario.getSize(),
-                        algumaQtd,
-                        scenario.getSeed().longValue());
-
-                    break;
-                case RAND:
-                default:
-                    // RAND: faixa padrão 0..n (ou usa min/max passados no Scenario)
-                    base = Generator.genRandomIntBoxed(
-                            scenario.getSize(),
-                            scenario.getMinValue() == null ? 0 : scenario.getMinValue(),
-                            scenario.getMaxValue() == null ? Math.max(1, scenario.getSize()) : scenario.getMaxValue(),
-                            scenario.getSeed());
+            Integer[] base = gerarBaseComparativa(scenario);
+
+            // SHELL com sequência de gaps definida: usa Ordenadores.shellSort(a, gaps) e anota
+            // as comparações dessa sequência (contadas numa cópia, fora da medição)
+            ShellGaps gaps = scenario.getAlgorithm() == Scenario.Algorithm.SHELL ? scenario.getGaps() : null;
+            if (gaps != null) {
+                notes = "gaps=" + gaps + " comparacoes=" + contarComparacoesShell(base, gaps);
+            }
+
+            // PRIMITIVE: mesmos dados, mas convertidos para int[] e ordenados pela versão primitiva
+            if (scenario.getRepresentation() == Scenario.Representation.PRIMITIVE) {
+                int[] baseInt = toPrimitive(base);
+                IntSorter sorter = gaps != null
+                        ? a -> Ordenadores.shellSort(a, gaps)
+                        : registry.getInt(scenario.getAlgorithm());
+                if (sorter == null) {
+                    notes = "Sorter primitivo não registrado para " + scenario.getAlgorithm();
+                    sortedOk = false;
+                    sameMultiset = false;
+                    return new Result(scenario, times, average(times), sortedOk, sameMultiset, notes);
+                }
+
+                for (int rep = 0; rep < scenario.getRepeats(); rep++) {
+                    int[] a = Cloner.copyOf(baseInt);
+                    int[] before = Cloner.copyOf(baseInt);
+
+                    long dt = medir(() -> sorter.sort(a), pool);
+                    times.record(dt);
+
+                    boolean ok = Validator.isSorted(a);
+                    boolean same = Validator.sameMultiset(before, a);
+                    if (!ok)   sortedOk = false;
+                    if (!same) sameMultiset = false;
+                }
+                return new Result(scenario, times, average(times), sortedOk, sameMultiset, notes);
             }
 
             // Busca o sorter correspondente no registro (pode ser placeholder neste momento)
-            SorterComparable sorter = registry.getComparable(scenario.getAlgorithm());
+            SorterComparable sorter = gaps != null
+                    ? shellComGaps(gaps)
+                    : registry.getComparable(scenario.getAlgorithm());
 
             // Se não houver sorter registrado, já retorna Result com notas e flags de falha
             if (sorter == null) {
@@ -135,8 +311,8 @@ public final class Runner {
                 Integer[] a = Cloner.copyOf(base);   // cópia para o algoritmo
                 Integer[] before = Cloner.copyOf(base); // cópia para validação de multiconjunto
 
-                long dt = Timer.time(() -> sorter.sort(a)); // mede somente a ordenação
-                times.add(dt);
+                long dt = medir(() -> sorter.sort(a), pool); // mede somente a ordenação
+                times.record(dt);
 
                 // validações
                 boolean ok = Validator.isSorted(a);
@@ -145,28 +321,86 @@ public final class Runner {
                 if (!same) sameMultiset = false;
             }
 
-        } else if (scenario.getAlgorithm() == Scenario.Algorithm.COUNTING) {
-            // ---------- Caso: COUNTING (int[]) ----------
+        } else if (SELECTIONS.contains(scenario.getAlgorithm())) {
+            // ---------- Caso: seleção dos k menores (SELECT / PARTIAL_SORT / TOP_K) ----------
+            Integer[] base = gerarBaseComparativa(scenario);
+            final int k = Math.min(base.length, Math.max(1, scenario.getK() == null ? DEFAULT_K : scenario.getK()));
+            if (k == 0) {
+                notes = "vetor vazio";
+                return new Result(scenario, times, average(times), sortedOk, sameMultiset, notes);
+            }
+            notes = "k=" + k;
+
+            // resposta esperada, fora da medição: k menores (ou só o k-ésimo, no SELECT)
+            Integer[] ordenado = Cloner.copyOf(base);
+            Arrays.sort(ordenado);
+            Integer[] esperado = scenario.getAlgorithm() == Scenario.Algorithm.SELECT
+                    ? new Integer[] { ordenado[k - 1] }
+                    : Arrays.copyOf(ordenado, k);
+
+            if (scenario.getRepresentation() == Scenario.Representation.PRIMITIVE) {
+                int[] baseInt = toPrimitive(base);
+                int[] esperadoInt = toPrimitive(esperado);
+                IntSelector selector = registry.getIntSelector(scenario.getAlgorithm());
+                if (selector == null) {
+                    notes = "Seletor primitivo não registrado para " + scenario.getAlgorithm();
+                    return new Result(scenario, times, average(times), false, false, notes);
+                }
+                for (int rep = 0; rep < scenario.getRepeats(); rep++) {
+                    int[] a = Cloner.copyOf(baseInt);
+                    int[] before = Cloner.copyOf(baseInt);
+                    int[][] resposta = new int[1][];
+
+                    long dt = medir(() -> resposta[0] = selector.select(a, k), pool);
+                    times.record(dt);
+
+                    if (!Arrays.equals(esperadoInt, resposta[0])) sortedOk = false;
+                    if (!Validator.sameMultiset(before, a))        sameMultiset = false;
+                }
+            } else {
+                IntegerSelector selector = registry.getSelector(scenario.getAlgorithm());
+                if (selector == null) {
+                    notes = "Seletor não registrado para " + scenario.getAlgorithm();
+                    return new Result(scenario, times, average(times), false, false, notes);
+                }
+                for (int rep = 0; rep < scenario.getRepeats(); rep++) {
+                    Integer[] a = Cloner.copyOf(base);
+                    Integer[] before = Cloner.copyOf(base);
+                    Integer[][] resposta = new Integer[1][];
+
+                    long dt = medir(() -> resposta[0] = selector.select(a, k), pool);
+                    times.record(dt);
+
+                    if (!Arrays.equals(esperado, resposta[0])) sortedOk = false;
+                    if (!Validator.sameMultiset(before, a))     sameMultiset = false;
+                }
+            }
+
+        } else if (scenario.getAlgorithm() == Scenario.Algorithm.COUNTING
+                || scenario.getAlgorithm() == Scenario.Algorithm.PARALLEL_COUNTING) {
+            // ---------- Caso: COUNTING / PARALLEL_COUNTING (int[]) ----------
             int min = scenario.getMinValue() == null ? 0 : scenario.getMinValue();
             int max = scenario.getMaxValue() == null ? Math.max(1, scenario.getSize()) : scenario.getMaxValue();
             int[] base = genRandomIntPrimitiveLocal(
                 scenario.getSize(), min, max, scenario.getSeed().longValue());
 
 
-            IntSorter sorter = registry.getInt(Scenario.Algorithm.COUNTING);
+            IntSorter sorter = registry.getInt(scenario.getAlgorithm());
             if (sorter == null) {
-                notes = "Sorter não registrado para COUNTING";
+                notes = "Sorter não registrado para " + scenario.getAlgorithm();
                 sortedOk = false;
                 sameMultiset = false;
                 return new Result(scenario, times, average(times), sortedOk, sameMultiset, notes);
             }
+            // caminho que a versão sem faixa (sequencial ou paralela) escolhe para esta entrada (fora da medição)
+            notes = "caminho=" + CountingSort.escolherCaminho(base);
 
             for (int rep = 0; rep < scenario.getRepeats(); rep++) {
                 int[] a = Cloner.copyOf(base);
                 int[] before = Cloner.copyOf(base);
 
-                long dt = Timer.time(() -> sorter.sort(a));
-                times.add(dt);
+                long dt = medir(() -> sorter.sort(a), pool);
+                times.record(dt);
 
                 boolean ok = Validator.isSorted(a);
                 boolean same = Validator.sameMultiset(before, a);
@@ -174,15 +408,17 @@ public final class Runner {
                 if (!same) sameMultiset = false;
             }
 
-        } else if (scenario.getAlgorithm() == Scenario.Algorithm.RADIX) {
-            // ---------- Caso: RADIX (int[]) ----------
+        } else if (scenario.getAlgorithm() == Scenario.Algorithm.RADIX
+                || scenario.getAlgorithm() == Scenario.Algorithm.PARALLEL_RADIX) {
+            // ---------- Caso: RADIX / PARALLEL_RADIX (int[]) ----------
             int min = scenario.getMinValue() == null ? 0 : scenario.getMinValue();
             int max = scenario.getMaxValue() == null ? Math.max(1, scenario.getSize()) : scenario.getMaxValue();
-            int[] base = Generator.genRandomIntPrimitive(scenario.getSize(), min, max, scenario.getSeed());
+            int[] base = genRandomIntPrimitiveLocal(
+                scenario.getSize(), min, max, scenario.getSeed().longValue());
 
-            IntSorter sorter = registry.getInt(Scenario.Algorithm.RADIX);
+            IntSorter sorter = registry.getInt(scenario.getAlgorithm());
             if (sorter == null) {
-                notes = "Sorter não registrado para RADIX";
+                notes = "Sorter não registrado para " + scenario.getAlgorithm();
                 sortedOk = false;
                 sameMultiset = false;
                 return new Result(scenario, times, average(times), sortedOk, sameMultiset, notes);
@@ -192,8 +428,8 @@ public final class Runner {
                 int[] a = Cloner.copyOf(base);
                 int[] before = Cloner.copyOf(base);
 
-                long dt = Timer.time(() -> sorter.sort(a));
-                times.add(dt);
+                long dt = medir(() -> sorter.sort(a), pool);
+                times.record(dt);
 
                 boolean ok = Validator.isSorted(a);
                 boolean same = Validator.sameMultiset(before, a);
@@ -201,14 +437,19 @@ public final class Runner {
                 if (!same) sameMultiset = false;
             }
 
-        } else if (scenario.getAlgorithm() == Scenario.Algorithm.BUCKET) {
-            // ---------- Caso: BUCKET (double[]) ----------
+        } else if (scenario.getAlgorithm() == Scenario.Algorithm.BUCKET
+                || scenario.getAlgorithm() == Scenario.Algorithm.PARALLEL_BUCKET) {
+            // ---------- Caso: BUCKET / PARALLEL_BUCKET (double[]) ----------
             double[] base = genRandomDouble01Local(scenario.getSize(), scenario.getSeed().longValue());
 
-
-            DoubleSorter sorter = registry.getDouble(Scenario.Algorithm.BUCKET);
+            // prefere o sorter que recebe getBuckets(); senão, o DoubleSorter simples
+            BucketSorter porBuckets = registry.getBucket(scenario.getAlgorithm());
+            int numBuckets = scenario.getBuckets() == null ? 0 : scenario.getBuckets();
+            DoubleSorter sorter = porBuckets != null
+                    ? a -> porBuckets.sort(a, numBuckets)
+                    : registry.getDouble(scenario.getAlgorithm());
             if (sorter == null) {
-                notes = "Sorter não registrado para BUCKET";
+                notes = "Sorter não registrado para " + scenario.getAlgorithm();
                 sortedOk = false;
                 sameMultiset = false;
                 return new Result(scenario, times, average(times), sortedOk, sameMultiset, notes);
@@ -218,8 +459,8 @@ public final class Runner {
                 double[] a = Cloner.copyOf(base);
                 double[] before = Cloner.copyOf(base);
 
-                long dt = Timer.time(() -> sorter.sort(a));
-                times.add(dt);
+                long dt = medir(() -> sorter.sort(a), pool);
+                times.record(dt);
 
                 boolean ok = Validator.isSorted(a);
                 boolean same = Validator.sameMultiset(before, a);
@@ -245,14 +486,135 @@ public final class Runner {
         return out;
     }
 
+    // -------------------- Conferência da instrumentação --------------------
+
+    // Comparativos cujo int[] termina as folhas (ou pré-ordena os blocos) com SmallSort:
+    // as partições/merges são os mesmos do Integer[], só as folhas comparam diferente.
+    private static final EnumSet<Scenario.Algorithm> FOLHAS_EM_REDE =
+            EnumSet.of(Scenario.Algorithm.MERGE, Scenario.Algorithm.QUICK,
+                       Scenario.Algorithm.INTRO, Scenario.Algorithm.QUICK_3WAY,
+                       Scenario.Algorithm.DUAL_PIVOT, Scenario.Algorithm.PARALLEL_MERGE,
+                       Scenario.Algorithm.PARALLEL_QUICK, Scenario.Algorithm.SELECT,
+                       Scenario.Algorithm.PARTIAL_SORT);
+
+    /** Razão máxima entre as contagens BOXED e PRIMITIVE nos algoritmos de FOLHAS_EM_REDE. */
+    private static final double TOLERANCIA_FOLHAS = 2.0;
+
+    /**
+     * Confere sorting.Metricas: roda cada comparativo e cada seleção em BOXED e PRIMITIVE
+     * sobre a mesma entrada RAND e devolve as divergências no nº de comparações (lista
+     * vazia = ok). Só faz sentido com -Dsorting.metricas=true.
+     * - Onde as duas representações executam o mesmo código, a contagem tem de ser igual.
+     * - Em FOLHAS_EM_REDE as folhas do int[] usam redes de ordenação, então a contagem pode
+     *   diferir só por elas (até TOLERANCIA_FOLHAS); um laço de comparação sem Metricas.cmp
+     *   numa das versões fica bem fora disso.
+     * Os quadráticos usam no máximo 2000 elementos.
+     */
+    public static List<String> conferirMetricas(int size, long seed) {
+        List<String> divergencias = new ArrayList<>();
+        if (!Metricas.ATIVO) {
+            divergencias.add("instrumentação desligada (rode com -Dsorting.metricas=true)");
+            return divergencias;
+        }
+        EnumSet<Scenario.Algorithm> algoritmos = EnumSet.copyOf(COMPARATIVES);
+        algoritmos.addAll(SELECTIONS);
+        Runner runner = new Runner();
+        SortRegistry registro = SortRegistry.selecao();
+        for (Scenario.Algorithm alg : algoritmos) {
+            boolean quadratico = alg == Scenario.Algorithm.BUBBLE || alg == Scenario.Algorithm.INSERTION
+                    || alg == Scenario.Algorithm.SELECTION;
+            int n = quadratico ? Math.min(size, 2000) : size;
+            long[] comparacoes = new long[2];
+            for (Scenario.Representation repr : Scenario.Representation.values()) {
+                Scenario s = new Scenario(alg, Scenario.InputType.RAND, repr, n,
+                                          null, null, null, null, 1, seed);
+                Result r = runner.run(s, registro);
+                comparacoes[repr.ordinal()] = r.getMetricas() == null ? -1 : r.getMetricas().getComparacoes();
+            }
+            long boxed = comparacoes[Scenario.Representation.BOXED.ordinal()];
+            long primitivo = comparacoes[Scenario.Representation.PRIMITIVE.ordinal()];
+            boolean ok = FOLHAS_EM_REDE.contains(alg)
+                    ? boxed > 0 && primitivo > 0
+                      && Math.max(boxed, primitivo) <= TOLERANCIA_FOLHAS * Math.min(boxed, primitivo)
+                    : boxed == primitivo;
+            if (!ok) {
+                divergencias.add(alg + " n=" + n + ": BOXED=" + boxed + " comparacoes, PRIMITIVE=" + primitivo);
+            }
+        }
+        return divergencias;
+    }
+
+    // -------------------- Utilitários: shell sort por sequência de gaps --------------------
+
+    /** SorterComparable é genérico no método, então não aceita lambda: classe anônima. */
+    private static SorterComparable shellComGaps(ShellGaps gaps) {
+        return new SorterComparable() {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] a) {
+                Ordenadores.shellSort(a, gaps);
+            }
+        };
+    }
+
+    /** Nº de comparações do shell sort com 'gaps' sobre uma cópia de 'base'. */
+    private static long contarComparacoesShell(Integer[] base, ShellGaps gaps) {
+        long[] comparacoes = new long[1];
+        Ordenadores.shellSort(Cloner.copyOf(base), (x, y) -> {
+            comparacoes[0]++;
+            return x.compareTo(y);
+        }, gaps);
+        return comparacoes[0];
+    }
+
+    // -------------------- Utilitário: vetor-base dos comparativos --------------------
+
+    /** Integer[] conforme o InputType do cenário (usado pelos comparativos e pela seleção). */
+    static Integer[] gerarBaseComparativa(Scenario scenario) {
+        switch (scenario.getInputType()) {
+            case ASC:
+                return Generator.genAscending(scenario.getSize());
+            case DESC:
+                return Generator.genDescending(scenario.getSize());
+            case PIPE:
+                return Generator.genOrganPipe(scenario.getSize());
+            case KILLER:
+                return Generator.genQuickSortKiller(scenario.getSize());
+            case DUPS:
+                // "muitos repetidos": usa uma fração de valores distintos (ex.: n/20)
+                return genManyDuplicatesLocal(
+                    scenario.getSize(),
+                    Math.max(1, scenario.getSize() / 20),
+                    scenario.getSeed().longValue());
+            case RAND:
+            default:
+                // RAND: faixa padrão 0..n (ou usa min/max passados no Scenario)
+                return Generator.genRandomIntBoxed(
+                        scenario.getSize(),
+                        scenario.getMinValue() == null ? 0 : scenario.getMinValue(),
+                        scenario.getMaxValue() == null ? Math.max(1, scenario.getSize()) : scenario.getMaxValue(),
+                        scenario.getSeed());
+        }
+    }
+
+    // -------------------- Utilitário: medição (opcionalmente dentro do pool) --------------------
+
+    /**
+     * Mede o bloco com Timer; com pool, a medição acontece numa thread do próprio pool.
+     * Com Metricas.ATIVO, zera os contadores antes e guarda a leitura depois (fora do tempo).
+     */
+    private long medir(Runnable sort, ForkJoinPool pool) {
+        if (Metricas.ATIVO) Metricas.zerar();
+        long dt = pool == null ? Timer.time(sort) : pool.invoke(ForkJoinTask.adapt(() -> Timer.time(sort)));
+        if (Metricas.ATIVO) ultimasMetricas = Metricas.ler();
+        return dt;
+    }
+
     // -------------------- Utilitário: média simples --------------------
 
-    /** Média aritmética dos tempos (nanos). Retorna null se lista vazia. */
-    private static Double average(List<Long> times) {
+    /** Média aritmética dos tempos (nanos). Retorna null se não houve medição. */
+    private static Double average(Histogram times) {
         if (times == null || times.isEmpty()) return null;
-        long sum = 0L;
-        for (Long t : times) sum += t;
-        return sum / (double) times.size();
+        return times.mean();
     }
 
     // ---------------------------------------------------------------------
@@ -271,14 +633,14 @@ private static Integer[] genManyDuplicatesLocal(int n, int distinct, long seed)
 }
 
 /** Converte Integer[] para int[]. */
-private static int[] toPrimitive(Integer[] src) {
+static int[] toPrimitive(Integer[] src) {
     int[] a = new int[src.length];
     for (int i = 0; i < src.length; i++) a[i] = src[i];
     return a;
 }
 
 /** Gera int[] aleatório em [min, max] (INCLUSIVO). */
-private static int[] genRandomIntPrimitiveLocal(int n, int min, int max, long seed) {
+static int[] genRandomIntPrimitiveLocal(int n, int min, int max, long seed) {
     if (max < min) { int t = min; min = max; max = t; }
     java.util.Random rnd = new java.util.Random(seed);
     int[] a = new int[n];
@@ -288,7 +650,7 @@ private static int[] genRandomIntPrimitiveLocal(int n, int min, int max, long se
 }
 
 /** Gera double[] uniformes em [0,1). */
-private static double[] genRandomDouble01Local(int n, long seed) {
+static double[] genRandomDouble01Local(int n, long seed) {
     java.util.Random rnd = new java.util.Random(seed);
     double[] a = new double[n];
     for (int i = 0; i < n; i++) a[i] = rnd.nextDouble();
@@ -1,5 +1,10 @@
 package bench;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import sorting.ShellGaps;
+
 /**
  * Descreve UM CENÁRIO de experimento: qual algoritmo, qual tipo de entrada,
  * tamanho do vetor, número de repetições e parâmetros opcionais
@@ -7,27 +12,50 @@ package bench;
  */
 public final class Scenario {
 
-    /** Tipos de entrada que serão gerados para o experimento. */
-    public enum InputType { ASC, DESC, RAND, DUPS }
+    /**
+     * Tipos de entrada que serão gerados para o experimento.
+     * PIPE (órgão de tubos) e KILLER (adversário de McIlroy) são entradas adversariais
+     * para o quick; KILLER tem geração O(n²), use com n pequeno.
+     */
+    public enum InputType { ASC, DESC, RAND, DUPS, PIPE, KILLER }
 
     /** Conjunto de algoritmos disponíveis (comparativos + lineares). */
     public enum Algorithm {
         // comparativos
-        BUBBLE, INSERTION, SELECTION, SHELL, HEAP, MERGE, QUICK,
+        BUBBLE, INSERTION, SELECTION, SHELL, HEAP, MERGE, QUICK, INTRO,
+        QUICK_3WAY, DUAL_PIVOT, TIM,
+        // heap sort de Floyd (desce o buraco até a folha) em heap binário e 4-ário
+        HEAP_FLOYD, HEAP_4ARY,
+        // comparativos paralelos (fork-join; usam 'threads')
+        PARALLEL_MERGE, PARALLEL_QUICK,
         // lineares
-        COUNTING, RADIX, BUCKET
+        COUNTING, RADIX, BUCKET,
+        // lineares paralelos (fork-join; usam 'threads')
+        PARALLEL_COUNTING, PARALLEL_RADIX, PARALLEL_BUCKET,
+        // seleção dos k menores (comparativos; usam 'k')
+        SELECT, PARTIAL_SORT, TOP_K
     }
 
+    /**
+     * Representação dos elementos nos algoritmos comparativos:
+     * BOXED usa Integer[] (compareTo), PRIMITIVE usa int[] (sem boxing).
+     */
+    public enum Representation { BOXED, PRIMITIVE }
+
     // ---------- Campos imutáveis do cenário ----------
     private final Algorithm algorithm;   // qual algoritmo será testado
     private final InputType inputType;   // ASC, DESC, RAND, DUPS
     private final int size;              // tamanho do vetor
+    private final Representation representation; // Integer[] ou int[] (comparativos)
 
     // Parâmetros opcionais para algoritmos lineares
     private final Integer minValue;      // counting/rand int (mínimo)
     private final Integer maxValue;      // counting/rand int (máximo)
     private final Integer radixBase;     // base para radix (ex.: 10 ou 256)
     private final Integer buckets;       // nº de buckets para bucket sort
+    private final Integer threads;       // paralelismo do ForkJoinPool (null = sequencial)
+    private final Integer k;             // quantos menores em SELECT/PARTIAL_SORT/TOP_K (null = 100)
+    private final ShellGaps gaps;        // sequência de gaps do SHELL (null = sorter registrado)
 
     private final int repeats;           // repetições do mesmo cenário
     private final Long seed;             // seed opcional (reprodutibilidade)
@@ -42,25 +70,173 @@ public final class Scenario {
                     Integer buckets,
                     int repeats,
                     Long seed) {
+        this(algorithm, inputType, Representation.BOXED, size,
+             minValue, maxValue, radixBase, buckets, repeats, seed);
+    }
+
+    /** Igual ao anterior, escolhendo a representação (BOXED/PRIMITIVE) dos comparativos. */
+    public Scenario(Algorithm algorithm,
+                    InputType inputType,
+                    Representation representation,
+                    int size,
+                    Integer minValue,
+                    Integer maxValue,
+                    Integer radixBase,
+                    Integer buckets,
+                    int repeats,
+                    Long seed) {
+        this(algorithm, inputType, representation, size,
+             minValue, maxValue, radixBase, buckets, null, repeats, seed);
+    }
+
+    /** Igual ao anterior, definindo 'threads' (null = thread do chamador). */
+    public Scenario(Algorithm algorithm,
+                    InputType inputType,
+                    Representation representation,
+                    int size,
+                    Integer minValue,
+                    Integer maxValue,
+                    Integer radixBase,
+                    Integer buckets,
+                    Integer threads,
+                    int repeats,
+                    Long seed) {
+        this(algorithm, inputType, representation, size,
+             minValue, maxValue, radixBase, buckets, threads, null, repeats, seed);
+    }
+
+    /** Igual ao anterior, definindo também 'k' (null = 100). */
+    public Scenario(Algorithm algorithm,
+                    InputType inputType,
+                    Representation representation,
+                    int size,
+                    Integer minValue,
+                    Integer maxValue,
+                    Integer radixBase,
+                    Integer buckets,
+                    Integer threads,
+                    Integer k,
+                    int repeats,
+                    Long seed) {
+        this(algorithm, inputType, representation, size,
+             minValue, maxValue, radixBase, buckets, threads, k, null, repeats, seed);
+    }
+
+    /**
+     * Construtor completo: além da representação, define 'threads' — o paralelismo do
+     * ForkJoinPool em que o Runner executa o sorter (null = thread do chamador) — e 'k',
+     * quantos menores os algoritmos de seleção devem devolver — e 'gaps', a sequência
+     * que o SHELL usa no lugar do sorter registrado (null = sorter registrado).
+     */
+    public Scenario(Algorithm algorithm,
+                    InputType inputType,
+                    Representation representation,
+                    int size,
+                    Integer minValue,
+                    Integer maxValue,
+                    Integer radixBase,
+                    Integer buckets,
+                    Integer threads,
+                    Integer k,
+                    ShellGaps gaps,
+                    int repeats,
+                    Long seed) {
         this.algorithm = algorithm;
         this.inputType = inputType;
+        this.representation = representation == null ? Representation.BOXED : representation;
         this.size = size;
         this.minValue = minValue;
         this.maxValue = maxValue;
         this.radixBase = radixBase;
         this.buckets = buckets;
+        this.threads = threads;
+        this.k = k;
+        this.gaps = gaps;
         this.repeats = repeats;
         this.seed = seed;
     }
 
+    /**
+     * Lineares sequenciais lado a lado com as versões paralelas (COUNTING x PARALLEL_COUNTING,
+     * RADIX x PARALLEL_RADIX, BUCKET x PARALLEL_BUCKET), entrada aleatória em [min, max].
+     * Os paralelos rodam com 'threads'; os sequenciais, na thread do chamador.
+     * Ex.: linearesSequencialVsParalelo(1_000_000, 0, 1_000_000, 4, 5, 42L).
+     */
+    public static List<Scenario> linearesSequencialVsParalelo(int size, int minValue, int maxValue,
+                                                              int threads, int repeats, long seed) {
+        Algorithm[][] pares = {
+            {Algorithm.COUNTING, Algorithm.PARALLEL_COUNTING},
+            {Algorithm.RADIX,    Algorithm.PARALLEL_RADIX},
+            {Algorithm.BUCKET,   Algorithm.PARALLEL_BUCKET},
+        };
+        List<Scenario> out = new ArrayList<>();
+        for (Algorithm[] par : pares) {
+            out.add(new Scenario(par[0], InputType.RAND, Representation.PRIMITIVE, size,
+                                 minValue, maxValue, null, null, null, repeats, seed));
+            out.add(new Scenario(par[1], InputType.RAND, Representation.PRIMITIVE, size,
+                                 minValue, maxValue, null, null, threads, repeats, seed));
+        }
+        return out;
+    }
+
+    /**
+     * Custo de obter os k menores (SELECT, PARTIAL_SORT, TOP_K) contra ordenar tudo
+     * (INTRO e HEAP), com a mesma entrada aleatória.
+     * Ex.: selecaoVsOrdenacaoCompleta(1_000_000, 100, Representation.PRIMITIVE, 5, 42L).
+     */
+    public static List<Scenario> selecaoVsOrdenacaoCompleta(int size, int k, Representation representation,
+                                                            int repeats, long seed) {
+        Algorithm[] algs = {Algorithm.SELECT, Algorithm.PARTIAL_SORT, Algorithm.TOP_K,
+                            Algorithm.INTRO, Algorithm.HEAP};
+        List<Scenario> out = new ArrayList<>();
+        for (Algorithm alg : algs) {
+            out.add(new Scenario(alg, InputType.RAND, representation, size,
+                                 null, null, null, null, null, k, repeats, seed));
+        }
+        return out;
+    }
+
+    /**
+     * HEAP (Ordenadores.heapSort) contra HEAP_FLOYD e HEAP_4ARY, com a mesma entrada aleatória.
+     * Ex.: heapVariantes(1_000_000, Representation.PRIMITIVE, 5, 42L).
+     */
+    public static List<Scenario> heapVariantes(int size, Representation representation, int repeats, long seed) {
+        Algorithm[] algs = {Algorithm.HEAP, Algorithm.HEAP_FLOYD, Algorithm.HEAP_4ARY};
+        List<Scenario> out = new ArrayList<>();
+        for (Algorithm alg : algs) {
+            out.add(new Scenario(alg, InputType.RAND, representation, size,
+                                 null, null, null, null, repeats, seed));
+        }
+        return out;
+    }
+
+    /**
+     * SHELL com cada sequência de ShellGaps, mesma entrada; o Runner anota nas notas
+     * a sequência e o nº de comparações.
+     * Ex.: shellPorSequencia(1_000_000, InputType.RAND, Representation.PRIMITIVE, 5, 42L).
+     */
+    public static List<Scenario> shellPorSequencia(int size, InputType inputType, Representation representation,
+                                                   int repeats, long seed) {
+        List<Scenario> out = new ArrayList<>();
+        for (ShellGaps gaps : ShellGaps.values()) {
+            out.add(new Scenario(Algorithm.SHELL, inputType, representation, size,
+                                 null, null, null, null, null, null, gaps, repeats, seed));
+        }
+        return out;
+    }
+
     // ---------- Getters (objeto imutável) ----------
     public Algorithm getAlgorithm() { return algorithm; }
     public InputType getInputType() { return inputType; }
+    public Representation getRepresentation() { return representation; }
     public int getSize() { return size; }
     public Integer getMinValue() { return minValue; }
     public Integer getMaxValue() { return maxValue; }
     public Integer getRadixBase() { return radixBase; }
     public Integer getBuckets() { return buckets; }
+    public Integer getThreads() { return threads; }
+    public Integer getK() { return k; }
+    public ShellGaps getGaps() { return gaps; }
     public int getRepeats() { return repeats; }
     public Long getSeed() { return seed; }
 }
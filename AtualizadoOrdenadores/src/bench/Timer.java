@@ -3,7 +3,11 @@ package bench;
 public final class Timer {
     private Timer() { }
 
-    /** Mede e retorna o tempo em nanos do bloco fornecido. */
+    /**
+     * Mede e retorna o tempo em nanos do bloco fornecido.
+     * Medição única, sem aquecimento nem isolamento: serve para o Runner e os demos; para
+     * números comparáveis entre algoritmos use o módulo jmh/ (bench.SortBenchmark).
+     */
     public static long time(Runnable block) {
         long t0 = System.nanoTime();
         block.run();
@@ -7,32 +7,65 @@ import java.util.Collections;
 import java.util.List;
 
 /**
- * Bucket Sort para valores em [0,1).
- * Distribui em 'numBuckets' baldes, ordena cada balde (Collections.sort) e concatena.
+ * Bucket Sort para double[] em uma faixa [min, max].
+ * - Sem listas nem boxing: conta quantos valores caem em cada balde, acumula os
+ *   prefixos (início de cada balde), distribui num único double[] auxiliar e
+ *   ordena cada fatia por inserção direta.
+ * - A faixa pode ser informada (ex.: limites do sensor) ou detectada numa passada.
+ *   Valores fora da faixa informada vão para o primeiro/último balde: o resultado
+ *   continua ordenado, só fica mais lento.
+ * - O(n + k) esperado para dados ~uniformes na faixa; O(n²) no pior caso (tudo num balde).
+ * Assume valores sem NaN.
  */
 public final class BucketSort {
     private BucketSort() {}
 
-    /** Ordena in-place os valores (assumindo [0,1)). */
+    /** Ordena in-place, detectando min/max dos próprios dados. */
     public static void sort(double[] valores, int numBuckets) {
+        sort(valores, numBuckets, new Workspace());
+    }
+
+    /** Igual ao anterior, reaproveitando contadores e buffer do Workspace. */
+    public static void sort(double[] valores, int numBuckets, Workspace ws) {
+        if (valores == null || valores.length < 2) return;
+        double min = valores[0], max = valores[0];
+        for (double v : valores) {
+            if (v < min) min = v;
+            else if (v > max) max = v;
+        }
+        sort(valores, numBuckets, min, max, ws);
+    }
+
+    /** Ordena in-place assumindo chaves em [minValor, maxValor] (ex.: [0,1) do bench). */
+    public static void sort(double[] valores, int numBuckets, double minValor, double maxValor) {
+        sort(valores, numBuckets, minValor, maxValor, new Workspace());
+    }
+
+    /** Versão completa: faixa explícita e memória auxiliar vinda do Workspace. */
+    public static void sort(double[] valores, int numBuckets, double minValor, double maxValor, Workspace ws) {
         if (valores == null || valores.length < 2) return;
         if (numBuckets < 1) numBuckets = Math.max(1, valores.length / 2);
+        if (minValor > maxValor) { double t = minValor; minValor = maxValor; maxValor = t; }
+        if (!(maxValor > minValor)) numBuckets = 1; // faixa degenerada: um balde só
 
-        @SuppressWarnings("unchecked")
-        List<Double>[] buckets = new ArrayList[numBuckets];
-        for (int i = 0; i < numBuckets; i++) buckets[i] = new ArrayList<>();
+        final int n = valores.length;
+        final Faixa faixa = new Faixa(minValor, maxValor, numBuckets);
 
-        // distribuição
-        for (double v : valores) {
-            int idx = indiceBucket(v, numBuckets);
-            buckets[idx].add(v);
-        }
+        // 1) contagem por balde (deslocada de 1 para o prefixo virar "início do balde")
+        int[] inicio = ws.counters(numBuckets + 1);
+        for (double v : valores) inicio[faixa.indice(v) + 1]++;
+        for (int b = 1; b <= numBuckets; b++) inicio[b] += inicio[b - 1];
 
-        // ordena cada balde e concatena
-        int k = 0;
-        for (int i = 0; i < numBuckets; i++) {
-            Collections.sort(buckets[i]);
-            for (double v : buckets[i]) valores[k++] = v;
+        // 2) distribuição estável no buffer plano
+        double[] aux = ws.doubleBuffer(n);
+        int[] pos = ws.intBuffer(numBuckets);
+        System.arraycopy(inicio, 0, pos, 0, numBuckets);
+        for (double v : valores) aux[pos[faixa.indice(v)]++] = v;
+
+        // 3) volta para 'valores' e ordena cada fatia
+        System.arraycopy(aux, 0, valores, 0, n);
+        for (int b = 0; b < numBuckets; b++) {
+            if (inicio[b + 1] - inicio[b] > 1) insertion(valores, inicio[b], inicio[b + 1]);
         }
     }
 
@@ -82,6 +115,41 @@ public final class BucketSort {
         }
     }
 
+    /**
+     * Mapeia valor -> balde para a faixa [min, max]. Trabalha com metades para que
+     * max - min não estoure para infinito em faixas muito largas.
+     */
+    static final class Faixa {
+        private final double minMeio, escala;
+        private final int ultimo;
+
+        Faixa(double min, double max, int numBuckets) {
+            this.minMeio = min * 0.5;
+            this.escala = numBuckets == 1 ? 0.0 : numBuckets / (max * 0.5 - minMeio);
+            this.ultimo = numBuckets - 1;
+        }
+
+        int indice(double v) {
+            int idx = (int) ((v * 0.5 - minMeio) * escala);
+            if (idx < 0) return 0;
+            return idx > ultimo ? ultimo : idx;
+        }
+    }
+
+    /** Inserção direta em a[lo, hi). */
+    static void insertion(double[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            double key = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j] > key) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = key;
+        }
+    }
+
+    // Usado pela demo, que continua com a visão didática em [0,1).
     private static int indiceBucket(double valor, int numBuckets) {
         if (valor < 0.0) valor = 0.0;
         if (valor >= 1.0) valor = Math.nextDown(1.0);
@@ -6,25 +6,137 @@ import bench.ColetorPassosInt;
  * Counting Sort para inteiros em intervalo conhecido [min, max] (inclusivo).
  * - Estável quando reconstruído pela ordem original.
  * - O(n + K), onde K = max - min + 1.
+ * - sort(valores) sem faixa: acha min/max numa passada e escolhe o caminho
+ *   DENSO (vetor de K contadores) ou ESPARSO (tabela hash só com as chaves distintas),
+ *   evitando que um único valor distante aloque gigabytes de contadores.
  */
 public final class CountingSort {
     private CountingSort() {}
 
+    /** Caminho usado por sort(valores) sem faixa explícita. */
+    public enum Caminho { DENSO, ESPARSO }
+
+    /**
+     * O denso vence enquanto K é da ordem de n: zerar e acumular K contadores é mais
+     * barato que n acessos à tabela hash mais a ordenação das chaves distintas.
+     */
+    private static final int FATOR_DENSO = 4;
+    private static final int FAIXA_DENSA_MIN = 1 << 12;
+    private static final int MAX_ESPARSO = 1 << 29;
+
+    /** Escolhe o caminho para n elementos na faixa [min, max]. */
+    public static Caminho escolherCaminho(int n, int minValor, int maxValor) {
+        return escolherCaminho(n, (long) maxValor - minValor + 1);
+    }
+
+    /** Mesmo critério a partir do tamanho da faixa (K), que pode passar de int (chaves long). */
+    static Caminho escolherCaminho(int n, long faixa) {
+        return faixa <= (long) FATOR_DENSO * n + FAIXA_DENSA_MIN ? Caminho.DENSO : Caminho.ESPARSO;
+    }
+
+    /** Caminho que sort(valores) escolheria para este vetor (varre min/max). */
+    public static Caminho escolherCaminho(int[] valores) {
+        if (valores == null || valores.length < 2) return Caminho.DENSO;
+        int min = valores[0], max = valores[0];
+        for (int v : valores) {
+            if (v < min) min = v;
+            else if (v > max) max = v;
+        }
+        return escolherCaminho(valores.length, min, max);
+    }
+
+    /** Ordena in-place detectando a faixa; qualquer int é aceito. */
+    public static void sort(int[] valores) {
+        sort(valores, new Workspace());
+    }
+
+    /** Igual ao anterior, com tabela/contadores vindos do Workspace. */
+    public static void sort(int[] valores, Workspace ws) {
+        if (valores == null || valores.length < 2) return;
+        int min = valores[0], max = valores[0];
+        for (int v : valores) {
+            if (v < min) min = v;
+            else if (v > max) max = v;
+        }
+        if (escolherCaminho(valores.length, min, max) == Caminho.DENSO) {
+            sort(valores, min, max, ws);
+        } else {
+            esparso(valores, ws);
+        }
+    }
+
+    /**
+     * Caminho esparso: conta cada chave numa tabela de endereçamento aberto (sondagem
+     * linear, ocupação <= 1/2), compacta os pares (chave, contagem) em ws.longAuxiliar — chave
+     * nos 32 bits altos, então a ordem do long é a ordem da chave —, ordena os pares
+     * com o radix de bytes e reescreve o vetor. O(n + d) com d = nº de chaves distintas.
+     */
+    private static void esparso(int[] valores, Workspace ws) {
+        final int n = valores.length;
+        if (n > MAX_ESPARSO) { // tabela com ocupação <= 1/2 não caberia num int[]
+            RadixSort.sort(valores, ws);
+            return;
+        }
+        final int cap = Integer.highestOneBit(Math.max(2, n - 1)) << 2; // >= 2n, potência de 2
+        final int mascara = cap - 1;
+        int[] chaves = ws.intBuffer(cap);
+        int[] contagens = ws.counters(cap); // 0 = posição vazia
+
+        int distintas = 0;
+        for (int v : valores) {
+            int h = hash(v) & mascara;
+            while (contagens[h] != 0 && chaves[h] != v) h = (h + 1) & mascara;
+            if (contagens[h] == 0) {
+                chaves[h] = v;
+                distintas++;
+            }
+            contagens[h]++;
+        }
+
+        long[] pares = ws.longAuxiliar(distintas);
+        for (int h = 0, k = 0; h < cap; h++) {
+            if (contagens[h] != 0) pares[k++] = ((long) chaves[h] << 32) | contagens[h];
+        }
+        RadixSort.sort(pares, distintas, ws); // a tabela já foi lida: o Workspace pode ser reaproveitado
+
+        int pos = 0;
+        for (int i = 0; i < distintas; i++) {
+            long p = pares[i];
+            int chave = (int) (p >> 32);
+            int fim = pos + (int) p;
+            while (pos < fim) valores[pos++] = chave;
+        }
+    }
+
+    /** Espalha os bits (constante de Fibonacci) para a sondagem linear não formar blocos. */
+    private static int hash(int v) {
+        int h = v * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
     /** Ordena in-place o vetor 'valores' assumindo domínio [minValor, maxValor] (INCLUSIVO). */
     public static void sort(int[] valores, int minValor, int maxValor) {
+        sort(valores, minValor, maxValor, new Workspace());
+    }
+
+    /**
+     * Igual ao anterior, mas contagens e vetor de saída vêm do Workspace
+     * (reaproveitados entre chamadas; sem alocação depois do aquecimento).
+     */
+    public static void sort(int[] valores, int minValor, int maxValor, Workspace ws) {
         if (valores == null || valores.length < 2) return;
         if (minValor > maxValor) { int t = minValor; minValor = maxValor; maxValor = t; }
 
         final int tamanho = valores.length;
         final int faixa = maxValor - minValor + 1;
 
-        int[] contagens = new int[faixa];
+        int[] contagens = ws.counters(faixa);
         for (int numero : valores) contagens[numero - minValor]++;
 
         // prefixo cumulativo para posições finais
         for (int i = 1; i < faixa; i++) contagens[i] += contagens[i - 1];
 
-        int[] ordenado = new int[tamanho];
+        int[] ordenado = ws.intBuffer(tamanho);
         // varre de trás p/ frente para ser estável
         for (int i = tamanho - 1; i >= 0; i--) {
             int numero = valores[i];
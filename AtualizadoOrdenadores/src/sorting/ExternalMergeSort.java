@@ -0,0 +1,401 @@
+package sorting;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Merge sort externo para arquivos de inteiros maiores que a memória disponível.
+ * 1) Lê a entrada em blocos que cabem no orçamento de memória, ordena cada bloco com um
+ *    ordenador em memória (padrão: RadixSort de bytes) e grava cada bloco ordenado
+ *    ("run") num arquivo temporário binário.
+ * 2) Intercala até 'fanIn' runs por vez com um heap de mínimo primitivo (int[] de índices
+ *    de run), lendo e escrevendo por FileChannel com buffers; se houver mais runs que o
+ *    fan-in, faz passes intermediários até sobrar um grupo, que vai para a saída.
+ * Formatos: BINARIO (int de 4 bytes, big-endian por padrão) e TEXTO (inteiros separados
+ * por espaço/quebra de linha; a saída sai um por linha). Se tudo couber em um bloco,
+ * nada é gravado em disco além da saída.
+ *
+ * Uso:
+ *   new ExternalMergeSort().memoria(256L << 20).fanIn(64)
+ *       .sort(entrada, Formato.TEXTO, saida, Formato.BINARIO);
+ */
+public final class ExternalMergeSort {
+
+    public enum Formato { BINARIO, TEXTO }
+
+    /** Números de uma execução (para relatório/CLI). */
+    public static final class Resumo {
+        private final long elementos;
+        private final int runs;
+        private final int passes;
+
+        Resumo(long elementos, int runs, int passes) {
+            this.elementos = elementos;
+            this.runs = runs;
+            this.passes = passes;
+        }
+
+        public long getElementos() { return elementos; }
+        /** Quantos blocos ordenados foram gerados na fase 1. */
+        public int getRuns() { return runs; }
+        /** Passes de intercalação (0 quando tudo coube em um bloco). */
+        public int getPasses() { return passes; }
+
+        @Override
+        public String toString() {
+            return "elementos=" + elementos + ", runs=" + runs + ", passes=" + passes;
+        }
+    }
+
+    private static final int MIN_BUFFER = 8 * 1024;
+
+    private long memoria = 64L << 20;
+    private int fanIn = 64;
+    private Path dirTemporario = null;
+    private ByteOrder ordem = ByteOrder.BIG_ENDIAN;
+    private Consumer<int[]> ordenador = null;
+
+    public ExternalMergeSort() { }
+
+    /** Orçamento aproximado (bytes) para o bloco em memória e para os buffers da intercalação. */
+    public ExternalMergeSort memoria(long bytes) {
+        this.memoria = Math.max(1L << 16, bytes);
+        return this;
+    }
+
+    /** Máximo de runs intercaladas de uma vez (mínimo 2). */
+    public ExternalMergeSort fanIn(int fanIn) {
+        this.fanIn = Math.max(2, fanIn);
+        return this;
+    }
+
+    /** Diretório dos runs temporários (null = diretório temporário do sistema). */
+    public ExternalMergeSort dirTemporario(Path dir) {
+        this.dirTemporario = dir;
+        return this;
+    }
+
+    /** Ordem dos bytes dos arquivos BINARIO de entrada/saída (e dos runs). */
+    public ExternalMergeSort ordem(ByteOrder ordem) {
+        this.ordem = ordem == null ? ByteOrder.BIG_ENDIAN : ordem;
+        return this;
+    }
+
+    /** Ordenador de cada bloco em memória (ex.: Ordenadores::introSort). */
+    public ExternalMergeSort ordenador(Consumer<int[]> ordenador) {
+        this.ordenador = ordenador;
+        return this;
+    }
+
+    public Resumo sort(Path entrada, Formato formatoEntrada, Path saida, Formato formatoSaida) throws IOException {
+        // o bloco divide a memória com o buffer auxiliar do ordenador (radix/merge usam n extras)
+        final int tamBloco = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1024, memoria / 8));
+        Consumer<int[]> ord = ordenador;
+        if (ord == null) {
+            Workspace ws = new Workspace();
+            ord = a -> RadixSort.sort(a, ws);
+        }
+
+        // todo run criado entra em 'temporarios'; o finally apaga os que sobrarem em qualquer saída
+        List<Path> temporarios = new ArrayList<>();
+        try {
+            // ---------- fase 1: blocos ordenados ----------
+            List<Path> runs = new ArrayList<>();
+            long total = 0;
+            int[] bloco = new int[(int) Math.min(tamBloco, Math.max(1024, Files.size(entrada) / 2 + 1))];
+            try (LeitorInts in = abrirLeitor(entrada, formatoEntrada)) {
+                while (true) {
+                    int n = in.ler(bloco);
+                    if (n == 0) break;
+                    total += n;
+                    int[] a = n == bloco.length ? bloco : Arrays.copyOf(bloco, n);
+                    ord.accept(a);
+
+                    if (runs.isEmpty() && n < bloco.length) { // coube tudo em um bloco: direto p/ saída
+                        try (EscritorInts out = abrirEscritor(saida, formatoSaida)) {
+                            for (int i = 0; i < n; i++) out.escrever(a[i]);
+                        }
+                        return new Resumo(total, 1, 0);
+                    }
+                    Path run = novoTemporario(temporarios);
+                    runs.add(run);
+                    try (EscritorInts out = new EscritorBinario(run, bufferBytes(1), ordem)) {
+                        for (int i = 0; i < n; i++) out.escrever(a[i]);
+                    }
+                }
+            }
+            bloco = null; // libera o bloco antes da intercalação
+
+            if (runs.isEmpty()) { // entrada vazia
+                abrirEscritor(saida, formatoSaida).close(); // só cria o arquivo vazio
+                return new Resumo(0, 0, 0);
+            }
+
+            // ---------- fase 2: intercalação em passes de até 'fanIn' runs ----------
+            final int nRuns = runs.size();
+            int passes = 0;
+            while (runs.size() > fanIn) {
+                List<Path> proximos = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> grupo = runs.subList(i, Math.min(runs.size(), i + fanIn));
+                    Path run = novoTemporario(temporarios);
+                    try (EscritorInts out = new EscritorBinario(run, bufferBytes(grupo.size()), ordem)) {
+                        intercalar(grupo, out);
+                    }
+                    for (Path p : grupo) Files.deleteIfExists(p);
+                    proximos.add(run);
+                }
+                runs = proximos;
+                passes++;
+            }
+            try (EscritorInts out = abrirEscritor(saida, formatoSaida)) {
+                intercalar(runs, out);
+            }
+            passes++;
+            return new Resumo(total, nRuns, passes);
+        } finally {
+            for (Path p : temporarios) Files.deleteIfExists(p);
+        }
+    }
+
+    /** k-way merge: heap de mínimo com os índices dos runs, ordenado pelo valor atual de cada um. */
+    private void intercalar(List<Path> runs, EscritorInts out) throws IOException {
+        final int k = runs.size();
+        final int buf = bufferBytes(k);
+        LeitorRun[] leitores = new LeitorRun[k];
+        try {
+            int[] atual = new int[k];
+            int[] heap = new int[k];
+            int tam = 0;
+            for (int r = 0; r < k; r++) {
+                leitores[r] = new LeitorRun(runs.get(r), buf, ordem);
+                if (leitores[r].temProximo()) {
+                    atual[r] = leitores[r].proximo();
+                    heap[tam++] = r;
+                }
+            }
+            for (int i = (tam >>> 1) - 1; i >= 0; i--) siftDown(heap, atual, i, tam);
+
+            while (tam > 0) {
+                int r = heap[0];
+                out.escrever(atual[r]);
+                if (leitores[r].temProximo()) {
+                    atual[r] = leitores[r].proximo();
+                } else {
+                    heap[0] = heap[--tam];
+                }
+                siftDown(heap, atual, 0, tam);
+            }
+        } finally {
+            for (LeitorRun l : leitores) if (l != null) l.close();
+        }
+    }
+
+    private static void siftDown(int[] heap, int[] atual, int i, int n) {
+        int r = heap[i];
+        int v = atual[r];
+        while (true) {
+            int c = (i << 1) + 1;
+            if (c >= n) break;
+            if (c + 1 < n && atual[heap[c + 1]] < atual[heap[c]]) c++;
+            if (atual[heap[c]] >= v) break;
+            heap[i] = heap[c];
+            i = c;
+        }
+        heap[i] = r;
+    }
+
+    /** Divide a memória entre k buffers de leitura e um de escrita (múltiplo de 4 bytes). */
+    private int bufferBytes(int k) {
+        long b = memoria / (k + 1);
+        b = Math.max(MIN_BUFFER, Math.min(b, 1 << 24));
+        return (int) (b & ~3L);
+    }
+
+    /** Cria um run temporário e o registra em 'criados', para o finally de sort() apagar. */
+    private Path novoTemporario(List<Path> criados) throws IOException {
+        Path p = dirTemporario == null
+                ? Files.createTempFile("extsort-run", ".bin")
+                : Files.createTempFile(dirTemporario, "extsort-run", ".bin");
+        criados.add(p);
+        return p;
+    }
+
+    private LeitorInts abrirLeitor(Path p, Formato f) throws IOException {
+        return f == Formato.TEXTO ? new LeitorTexto(p) : new LeitorRun(p, bufferBytes(1), ordem);
+    }
+
+    private EscritorInts abrirEscritor(Path p, Formato f) throws IOException {
+        return f == Formato.TEXTO ? new EscritorTexto(p) : new EscritorBinario(p, bufferBytes(1), ordem);
+    }
+
+    // -------------------- Leitura / escrita --------------------
+
+    private interface LeitorInts extends Closeable {
+        /** Preenche destino a partir do início; devolve quantos leu (0 = fim). */
+        int ler(int[] destino) throws IOException;
+    }
+
+    private interface EscritorInts extends Closeable {
+        void escrever(int v) throws IOException;
+    }
+
+    /** Leitura sequencial de ints binários por FileChannel + ByteBuffer direto. */
+    private static final class LeitorRun implements LeitorInts {
+        private final FileChannel ch;
+        private final ByteBuffer buf;
+        private boolean fimArquivo;
+
+        LeitorRun(Path p, int bytes, ByteOrder ordem) throws IOException {
+            this.ch = FileChannel.open(p, StandardOpenOption.READ);
+            this.buf = ByteBuffer.allocateDirect(bytes).order(ordem);
+            this.buf.flip(); // começa vazio
+        }
+
+        boolean temProximo() throws IOException {
+            if (buf.remaining() >= 4) return true;
+            if (fimArquivo) return false;
+            buf.compact();
+            while (buf.hasRemaining()) {
+                int lidos = ch.read(buf);
+                if (lidos < 0) { fimArquivo = true; break; }
+                if (lidos == 0) break;
+            }
+            buf.flip();
+            return buf.remaining() >= 4; // bytes soltos no fim (arquivo truncado) são ignorados
+        }
+
+        int proximo() {
+            return buf.getInt();
+        }
+
+        @Override
+        public int ler(int[] destino) throws IOException {
+            int n = 0;
+            while (n < destino.length && temProximo()) {
+                int m = Math.min(destino.length - n, buf.remaining() >>> 2);
+                for (int i = 0; i < m; i++) destino[n++] = buf.getInt();
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            ch.close();
+        }
+    }
+
+    private static final class EscritorBinario implements EscritorInts {
+        private final FileChannel ch;
+        private final ByteBuffer buf;
+
+        EscritorBinario(Path p, int bytes, ByteOrder ordem) throws IOException {
+            this.ch = FileChannel.open(p, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                       StandardOpenOption.TRUNCATE_EXISTING);
+            this.buf = ByteBuffer.allocateDirect(bytes).order(ordem);
+        }
+
+        @Override
+        public void escrever(int v) throws IOException {
+            if (buf.remaining() < 4) descarregar();
+            buf.putInt(v);
+        }
+
+        private void descarregar() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+            buf.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                descarregar();
+            } finally {
+                ch.close();
+            }
+        }
+    }
+
+    /** Inteiros em texto separados por qualquer caractere que não seja dígito ou '-'. */
+    private static final class LeitorTexto implements LeitorInts {
+        private final BufferedReader in;
+        private final char[] buf = new char[MIN_BUFFER];
+        private int pos, lim;
+
+        LeitorTexto(Path p) throws IOException {
+            this.in = Files.newBufferedReader(p, StandardCharsets.UTF_8);
+        }
+
+        private int lerChar() throws IOException {
+            if (pos == lim) {
+                lim = in.read(buf, 0, buf.length);
+                pos = 0;
+                if (lim <= 0) { lim = 0; return -1; }
+            }
+            return buf[pos++];
+        }
+
+        @Override
+        public int ler(int[] destino) throws IOException {
+            int n = 0;
+            while (n < destino.length) {
+                int c = lerChar();
+                while (c != -1 && c != '-' && (c < '0' || c > '9')) c = lerChar();
+                if (c == -1) break;
+                boolean negativo = c == '-';
+                if (negativo) c = lerChar();
+                long v = 0;
+                boolean algum = false;
+                while (c >= '0' && c <= '9') {
+                    v = v * 10 + (c - '0');
+                    if (v > 1L << 31) throw new IOException("valor fora da faixa de int na entrada");
+                    algum = true;
+                    c = lerChar();
+                }
+                if (!algum) continue; // '-' solto
+                if (negativo) v = -v;
+                if (v > Integer.MAX_VALUE) throw new IOException("valor fora da faixa de int: " + v);
+                destino[n++] = (int) v;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class EscritorTexto implements EscritorInts {
+        private final BufferedWriter out;
+
+        EscritorTexto(Path p) throws IOException {
+            this.out = Files.newBufferedWriter(p, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void escrever(int v) throws IOException {
+            out.write(Integer.toString(v));
+            out.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package sorting;
+
+/**
+ * Heap sort com o truque de Floyd ("bottom-up heapsort") e variante com heap 4-ário.
+ * - Ordenadores.heapSort desce a raiz comparando filho-com-filho e filho-com-pai
+ *   (2 comparações por nível) e troca a cada passo.
+ * - Aqui, na extração, o último elemento v sai do vetor e abre-se um "buraco" na raiz:
+ *   o buraco desce até uma folha puxando sempre o maior filho (1 comparação por nível,
+ *   1 escrita por nível, sem swap) e depois v sobe a partir da folha até achar um pai
+ *   >= v. Como v veio do fim do heap, quase sempre para a 1 ou 2 níveis da folha.
+ * - sort4Ary: mesmo esquema num heap 4-ário (filhos de i em 4i+1..4i+4). Metade da altura
+ *   e os 4 filhos costumam cair na mesma linha de cache; acha o maior com 3 comparações.
+ * - Não estável; in-place, O(n log n) no pior caso.
+ */
+public final class FloydHeapSort {
+    private FloydHeapSort() {}
+
+    // ---------- Versão genérica (Comparable) ----------
+
+    public static <T extends Comparable<? super T>> void sort(T[] a) {
+        if (a == null || a.length < 2) return;
+        final int n = a.length;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) descer(a, i, n, a[i]);
+        for (int fim = n - 1; fim > 0; fim--) {
+            T v = a[fim];
+            a[fim] = a[0];
+            Metricas.movimento();
+            descer(a, 0, fim, v);
+        }
+    }
+
+    public static <T extends Comparable<? super T>> void sort4Ary(T[] a) {
+        if (a == null || a.length < 2) return;
+        final int n = a.length;
+        for (int i = (n - 2) >>> 2; i >= 0; i--) descer4(a, i, n, a[i]);
+        for (int fim = n - 1; fim > 0; fim--) {
+            T v = a[fim];
+            a[fim] = a[0];
+            Metricas.movimento();
+            descer4(a, 0, fim, v);
+        }
+    }
+
+    /** Coloca v na subárvore de raiz i (heap binário em a[0..n)), cuja raiz está vaga. */
+    private static <T extends Comparable<? super T>> void descer(T[] a, int i, int n, T v) {
+        int buraco = i;
+        int filho = (buraco << 1) + 1;
+        while (filho < n) {
+            if (filho + 1 < n && Metricas.cmp(a[filho + 1].compareTo(a[filho]) > 0)) filho++;
+            a[buraco] = a[filho];
+            Metricas.movimento();
+            buraco = filho;
+            filho = (buraco << 1) + 1;
+        }
+        while (buraco > i) {
+            int pai = (buraco - 1) >>> 1;
+            if (Metricas.cmp(a[pai].compareTo(v) >= 0)) break;
+            a[buraco] = a[pai];
+            Metricas.movimento();
+            buraco = pai;
+        }
+        a[buraco] = v;
+        Metricas.movimento();
+    }
+
+    /** Igual a descer, num heap 4-ário. */
+    private static <T extends Comparable<? super T>> void descer4(T[] a, int i, int n, T v) {
+        int buraco = i;
+        int filho = (buraco << 2) + 1;
+        while (filho < n) {
+            int maior = filho;
+            int lim = Math.min(filho + 4, n);
+            for (int c = filho + 1; c < lim; c++) {
+                if (Metricas.cmp(a[c].compareTo(a[maior]) > 0)) maior = c;
+            }
+            a[buraco] = a[maior];
+            Metricas.movimento();
+            buraco = maior;
+            filho = (buraco << 2) + 1;
+        }
+        while (buraco > i) {
+            int pai = (buraco - 1) >>> 2;
+            if (Metricas.cmp(a[pai].compareTo(v) >= 0)) break;
+            a[buraco] = a[pai];
+            Metricas.movimento();
+            buraco = pai;
+        }
+        a[buraco] = v;
+        Metricas.movimento();
+    }
+
+    // ---------- Versão int[] ----------
+
+    public static void sort(int[] a) {
+        if (a == null || a.length < 2) return;
+        final int n = a.length;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) descer(a, i, n, a[i]);
+        for (int fim = n - 1; fim > 0; fim--) {
+            int v = a[fim];
+            a[fim] = a[0];
+            Metricas.movimento();
+            descer(a, 0, fim, v);
+        }
+    }
+
+    public static void sort4Ary(int[] a) {
+        if (a == null || a.length < 2) return;
+        final int n = a.length;
+        for (int i = (n - 2) >>> 2; i >= 0; i--) descer4(a, i, n, a[i]);
+        for (int fim = n - 1; fim > 0; fim--) {
+            int v = a[fim];
+            a[fim] = a[0];
+            Metricas.movimento();
+            descer4(a, 0, fim, v);
+        }
+    }
+
+    private static void descer(int[] a, int i, int n, int v) {
+        int buraco = i;
+        int filho = (buraco << 1) + 1;
+        while (filho < n) {
+            if (filho + 1 < n && Metricas.cmp(a[filho + 1] > a[filho])) filho++;
+            a[buraco] = a[filho];
+            Metricas.movimento();
+            buraco = filho;
+            filho = (buraco << 1) + 1;
+        }
+        while (buraco > i) {
+            int pai = (buraco - 1) >>> 1;
+            if (!Metricas.cmp(a[pai] < v)) break;
+            a[buraco] = a[pai];
+            Metricas.movimento();
+            buraco = pai;
+        }
+        a[buraco] = v;
+        Metricas.movimento();
+    }
+
+    private static void descer4(int[] a, int i, int n, int v) {
+        int buraco = i;
+        int filho = (buraco << 2) + 1;
+        while (filho < n) {
+            int maior = filho;
+            int lim = Math.min(filho + 4, n);
+            for (int c = filho + 1; c < lim; c++) {
+                if (Metricas.cmp(a[c] > a[maior])) maior = c;
+            }
+            a[buraco] = a[maior];
+            Metricas.movimento();
+            buraco = maior;
+            filho = (buraco << 2) + 1;
+        }
+        while (buraco > i) {
+            int pai = (buraco - 1) >>> 2;
+            if (!Metricas.cmp(a[pai] < v)) break;
+            a[buraco] = a[pai];
+            Metricas.movimento();
+            buraco = pai;
+        }
+        a[buraco] = v;
+        Metricas.movimento();
+    }
+
+    // ---------- Versão long[] ----------
+
+    public static void sort(long[] a) {
+        if (a == null || a.length < 2) return;
+        final int n = a.length;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) descer(a, i, n, a[i]);
+        for (int fim = n - 1; fim > 0; fim--) {
+            long v = a[fim];
+            a[fim] = a[0];
+            Metricas.movimento();
+            descer(a, 0, fim, v);
+        }
+    }
+
+    public static void sort4Ary(long[] a) {
+        if (a == null || a.length < 2) return;
+        final int n = a.length;
+        for (int i = (n - 2) >>> 2; i >= 0; i--) descer4(a, i, n, a[i]);
+        for (int fim = n - 1; fim > 0; fim--) {
+            long v = a[fim];
+            a[fim] = a[0];
+            Metricas.movimento();
+            descer4(a, 0, fim, v);
+        }
+    }
+
+    private static void descer(long[] a, int i, int n, long v) {
+        int buraco = i;
+        int filho = (buraco << 1) + 1;
+        while (filho < n) {
+            if (filho + 1 < n && Metricas.cmp(a[filho + 1] > a[filho])) filho++;
+            a[buraco] = a[filho];
+            Metricas.movimento();
+            buraco = filho;
+            filho = (buraco << 1) + 1;
+        }
+        while (buraco > i) {
+            int pai = (buraco - 1) >>> 1;
+            if (!Metricas.cmp(a[pai] < v)) break;
+            a[buraco] = a[pai];
+            Metricas.movimento();
+            buraco = pai;
+        }
+        a[buraco] = v;
+        Metricas.movimento();
+    }
+
+    private static void descer4(long[] a, int i, int n, long v) {
+        int buraco = i;
+        int filho = (buraco << 2) + 1;
+        while (filho < n) {
+            int maior = filho;
+            int lim = Math.min(filho + 4, n);
+            for (int c = filho + 1; c < lim; c++) {
+                if (Metricas.cmp(a[c] > a[maior])) maior = c;
+            }
+            a[buraco] = a[maior];
+            Metricas.movimento();
+            buraco = maior;
+            filho = (buraco << 2) + 1;
+        }
+        while (buraco > i) {
+            int pai = (buraco - 1) >>> 2;
+            if (!Metricas.cmp(a[pai] < v)) break;
+            a[buraco] = a[pai];
+            Metricas.movimento();
+            buraco = pai;
+        }
+        a[buraco] = v;
+        Metricas.movimento();
+    }
+
+    // ---------- Versão double[] ----------
+
+    public static void sort(double[] a) {
+        if (a == null || a.length < 2) return;
+        final int n = a.length;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) descer(a, i, n, a[i]);
+        for (int fim = n - 1; fim > 0; fim--) {
+            double v = a[fim];
+            a[fim] = a[0];
+            Metricas.movimento();
+            descer(a, 0, fim, v);
+        }
+    }
+
+    public static void sort4Ary(double[] a) {
+        if (a == null || a.length < 2) return;
+        final int n = a.length;
+        for (int i = (n - 2) >>> 2; i >= 0; i--) descer4(a, i, n, a[i]);
+        for (int fim = n - 1; fim > 0; fim--) {
+            double v = a[fim];
+            a[fim] = a[0];
+            Metricas.movimento();
+            descer4(a, 0, fim, v);
+        }
+    }
+
+    private static void descer(double[] a, int i, int n, double v) {
+        int buraco = i;
+        int filho = (buraco << 1) + 1;
+        while (filho < n) {
+            if (filho + 1 < n && Metricas.cmp(a[filho + 1] > a[filho])) filho++;
+            a[buraco] = a[filho];
+            Metricas.movimento();
+            buraco = filho;
+            filho = (buraco << 1) + 1;
+        }
+        while (buraco > i) {
+            int pai = (buraco - 1) >>> 1;
+            if (!Metricas.cmp(a[pai] < v)) break;
+            a[buraco] = a[pai];
+            Metricas.movimento();
+            buraco = pai;
+        }
+        a[buraco] = v;
+        Metricas.movimento();
+    }
+
+    private static void descer4(double[] a, int i, int n, double v) {
+        int buraco = i;
+        int filho = (buraco << 2) + 1;
+        while (filho < n) {
+            int maior = filho;
+            int lim = Math.min(filho + 4, n);
+            for (int c = filho + 1; c < lim; c++) {
+                if (Metricas.cmp(a[c] > a[maior])) maior = c;
+            }
+            a[buraco] = a[maior];
+            Metricas.movimento();
+            buraco = maior;
+            filho = (buraco << 2) + 1;
+        }
+        while (buraco > i) {
+            int pai = (buraco - 1) >>> 2;
+            if (!Metricas.cmp(a[pai] < v)) break;
+            a[buraco] = a[pai];
+            Metricas.movimento();
+            buraco = pai;
+        }
+        a[buraco] = v;
+        Metricas.movimento();
+    }
+}
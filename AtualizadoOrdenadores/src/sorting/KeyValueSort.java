@@ -0,0 +1,510 @@
+package sorting;
+
+/**
+ * Ordenação de registros: um vetor de chaves primitivas e um vetor "paralelo" de valores
+ * (id, índice, payload) que acompanha cada chave — sem embrulhar nada em Comparable.
+ * - Combinações: int[] + int[], long[] + int[] (ex.: timestamp + id) e long[] + Object[].
+ * - countingSort e radixSort são ESTÁVEIS (chaves iguais mantêm a ordem dos valores);
+ *   mergeSort também; quickSort não, mas não usa memória auxiliar.
+ * - argsort devolve a permutação que ordena as chaves (estável), sem mexer nelas:
+ *   keys[p[0]] <= keys[p[1]] <= ...
+ * Vetores com tamanhos diferentes geram IllegalArgumentException.
+ */
+public final class KeyValueSort {
+    private KeyValueSort() {}
+
+    private static final int RADIX = 256;
+
+    // ---------- Argsort ----------
+
+    /** Permutação estável que ordena 'keys' (radix sobre uma cópia das chaves). */
+    public static int[] argsort(int[] keys) {
+        if (keys == null) return new int[0];
+        int[] idx = identidade(keys.length);
+        radixSort(keys.clone(), idx);
+        return idx;
+    }
+
+    public static int[] argsort(long[] keys) {
+        if (keys == null) return new int[0];
+        int[] idx = identidade(keys.length);
+        radixSort(keys.clone(), idx);
+        return idx;
+    }
+
+    /** Ordem de Double.compare (-0.0 antes de 0.0, NaN no fim), pela chave IEEE-754 transformada. */
+    public static int[] argsort(double[] keys) {
+        if (keys == null) return new int[0];
+        long[] k = new long[keys.length];
+        // chave() tem ordem SEM sinal; o radix abaixo compara COM sinal, então volta o bit de sinal
+        for (int i = 0; i < k.length; i++) k[i] = RadixSort.chave(keys[i]) ^ Long.MIN_VALUE;
+        int[] idx = identidade(keys.length);
+        radixSort(k, idx);
+        return idx;
+    }
+
+    private static int[] identidade(int n) {
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) idx[i] = i;
+        return idx;
+    }
+
+    // ---------- Chaves int[] + valores int[] ----------
+
+    /** Counting estável: faixa detectada; se for esparsa, usa o radix (também estável). */
+    public static void countingSort(int[] keys, int[] values) {
+        if (!valido(keys, values)) return;
+        final int n = keys.length;
+        int min = keys[0], max = keys[0];
+        for (int k : keys) {
+            if (k < min) min = k;
+            else if (k > max) max = k;
+        }
+        long faixa = (long) max - min + 1; // em long: a faixa de chaves int pode passar de Integer.MAX_VALUE
+        if (CountingSort.escolherCaminho(n, faixa) != CountingSort.Caminho.DENSO) {
+            radixSort(keys, values);
+            return;
+        }
+        int[] cont = new int[(int) faixa + 1];
+        for (int k : keys) cont[k - min + 1]++;
+        for (int i = 1; i < cont.length; i++) cont[i] += cont[i - 1];
+
+        int[] k2 = new int[n];
+        int[] v2 = new int[n];
+        for (int i = 0; i < n; i++) { // da esquerda p/ direita com posições iniciais: estável
+            int p = cont[keys[i] - min]++;
+            k2[p] = keys[i];
+            v2[p] = values[i];
+        }
+        System.arraycopy(k2, 0, keys, 0, n);
+        System.arraycopy(v2, 0, values, 0, n);
+    }
+
+    /** Radix LSD de bytes (com sinal), estável: cada valor acompanha a sua chave. */
+    public static void radixSort(int[] keys, int[] values) {
+        if (!valido(keys, values)) return;
+        final int n = keys.length;
+
+        int[] cont = new int[4 * RADIX];
+        for (int k : keys) {
+            int u = k ^ Integer.MIN_VALUE;
+            for (int passe = 0; passe < 4; passe++) cont[passe * RADIX + ((u >>> (passe * 8)) & 0xFF)]++;
+        }
+
+        int[] ks = keys, kd = new int[n];
+        int[] vs = values, vd = new int[n];
+        for (int passe = 0; passe < 4; passe++) {
+            final int off = passe * RADIX, shift = passe * 8;
+            if (cont[off + (((ks[0] ^ Integer.MIN_VALUE) >>> shift) & 0xFF)] == n) continue; // byte igual em todos
+
+            prefixo(cont, off);
+            for (int i = 0; i < n; i++) {
+                int k = ks[i];
+                int p = cont[off + (((k ^ Integer.MIN_VALUE) >>> shift) & 0xFF)]++;
+                kd[p] = k;
+                vd[p] = vs[i];
+            }
+            int[] tk = ks; ks = kd; kd = tk;
+            int[] tv = vs; vs = vd; vd = tv;
+        }
+        if (ks != keys) {
+            System.arraycopy(ks, 0, keys, 0, n);
+            System.arraycopy(vs, 0, values, 0, n);
+        }
+    }
+
+    /** Merge sort estável (top-down, inserção abaixo do corte, pula merge de metades já em ordem). */
+    public static void mergeSort(int[] keys, int[] values) {
+        if (!valido(keys, values)) return;
+        final int n = keys.length;
+        mergeRange(keys, values, new int[n], new int[n], 0, n);
+    }
+
+    private static void mergeRange(int[] k, int[] v, int[] bk, int[] bv, int lo, int hi) {
+        if (hi - lo <= Ordenadores.INSERTION_CUTOFF) {
+            insertion(k, v, lo, hi - 1);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        mergeRange(k, v, bk, bv, lo, mid);
+        mergeRange(k, v, bk, bv, mid, hi);
+        if (k[mid - 1] <= k[mid]) return;
+
+        System.arraycopy(k, lo, bk, lo, hi - lo);
+        System.arraycopy(v, lo, bv, lo, hi - lo);
+        int i = lo, j = mid, p = lo;
+        while (i < mid && j < hi) {
+            if (bk[j] < bk[i]) { k[p] = bk[j]; v[p++] = bv[j++]; }
+            else               { k[p] = bk[i]; v[p++] = bv[i++]; } // empate: esquerda primeiro
+        }
+        while (i < mid) { k[p] = bk[i]; v[p++] = bv[i++]; }
+        while (j < hi)  { k[p] = bk[j]; v[p++] = bv[j++]; }
+    }
+
+    /** Quick sort (Hoare + mediana de 3), NÃO estável; sem memória auxiliar. */
+    public static void quickSort(int[] keys, int[] values) {
+        if (!valido(keys, values)) return;
+        quick(keys, values, 0, keys.length - 1);
+    }
+
+    private static void quick(int[] k, int[] v, int lo, int hi) {
+        while (hi - lo + 1 > Ordenadores.INSERTION_CUTOFF) {
+            int j = hoarePartition(k, v, lo, hi);
+            if (j - lo < hi - (j + 1)) { // recursão no menor lado: pilha O(log n)
+                quick(k, v, lo, j);
+                lo = j + 1;
+            } else {
+                quick(k, v, j + 1, hi);
+                hi = j;
+            }
+        }
+        insertion(k, v, lo, hi);
+    }
+
+    private static int hoarePartition(int[] k, int[] v, int lo, int hi) {
+        int pivot = k[Ordenadores.medianOf3(k, lo, lo + ((hi - lo) >>> 1), hi)];
+        int i = lo - 1, j = hi + 1;
+        while (true) {
+            do { i++; } while (k[i] < pivot);
+            do { j--; } while (k[j] > pivot);
+            if (i >= j) return j;
+            int tk = k[i]; k[i] = k[j]; k[j] = tk;
+            int tv = v[i]; v[i] = v[j]; v[j] = tv;
+        }
+    }
+
+    /** Inserção em [lo, hi] (inclusivo), movendo chave e valor juntos. */
+    private static void insertion(int[] k, int[] v, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int key = k[i];
+            int val = v[i];
+            int j = i - 1;
+            while (j >= lo && k[j] > key) {
+                k[j + 1] = k[j];
+                v[j + 1] = v[j];
+                j--;
+            }
+            k[j + 1] = key;
+            v[j + 1] = val;
+        }
+    }
+
+    private static boolean valido(int[] keys, int[] values) {
+        if (keys == null || values == null) return false;
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("keys e values com tamanhos diferentes: "
+                    + keys.length + " != " + values.length);
+        }
+        return keys.length > 1;
+    }
+
+    // ---------- Chaves long[] + valores int[] ----------
+
+    /** Counting estável: faixa detectada; se for esparsa, usa o radix (também estável). */
+    public static void countingSort(long[] keys, int[] values) {
+        if (!valido(keys, values)) return;
+        final int n = keys.length;
+        long min = keys[0], max = keys[0];
+        for (long k : keys) {
+            if (k < min) min = k;
+            else if (k > max) max = k;
+        }
+        long dif = max - min; // com chaves long a diferença pode estourar (fica negativa)
+        long faixa = dif < 0 || dif == Long.MAX_VALUE ? Long.MAX_VALUE : dif + 1;
+        if (CountingSort.escolherCaminho(n, faixa) != CountingSort.Caminho.DENSO) {
+            radixSort(keys, values);
+            return;
+        }
+        int[] cont = new int[(int) faixa + 1];
+        for (long k : keys) cont[(int) (k - min) + 1]++;
+        for (int i = 1; i < cont.length; i++) cont[i] += cont[i - 1];
+
+        long[] k2 = new long[n];
+        int[] v2 = new int[n];
+        for (int i = 0; i < n; i++) { // da esquerda p/ direita com posições iniciais: estável
+            int p = cont[(int) (keys[i] - min)]++;
+            k2[p] = keys[i];
+            v2[p] = values[i];
+        }
+        System.arraycopy(k2, 0, keys, 0, n);
+        System.arraycopy(v2, 0, values, 0, n);
+    }
+
+    /** Radix LSD de bytes (com sinal), estável: cada valor acompanha a sua chave. */
+    public static void radixSort(long[] keys, int[] values) {
+        if (!valido(keys, values)) return;
+        final int n = keys.length;
+
+        int[] cont = new int[8 * RADIX];
+        for (long k : keys) {
+            long u = k ^ Long.MIN_VALUE;
+            for (int passe = 0; passe < 8; passe++) cont[passe * RADIX + (int) ((u >>> (passe * 8)) & 0xFF)]++;
+        }
+
+        long[] ks = keys, kd = new long[n];
+        int[] vs = values, vd = new int[n];
+        for (int passe = 0; passe < 8; passe++) {
+            final int off = passe * RADIX, shift = passe * 8;
+            if (cont[off + (int) (((ks[0] ^ Long.MIN_VALUE) >>> shift) & 0xFF)] == n) continue; // byte igual em todos
+
+            prefixo(cont, off);
+            for (int i = 0; i < n; i++) {
+                long k = ks[i];
+                int p = cont[off + (int) (((k ^ Long.MIN_VALUE) >>> shift) & 0xFF)]++;
+                kd[p] = k;
+                vd[p] = vs[i];
+            }
+            long[] tk = ks; ks = kd; kd = tk;
+            int[] tv = vs; vs = vd; vd = tv;
+        }
+        if (ks != keys) {
+            System.arraycopy(ks, 0, keys, 0, n);
+            System.arraycopy(vs, 0, values, 0, n);
+        }
+    }
+
+    /** Merge sort estável (top-down, inserção abaixo do corte, pula merge de metades já em ordem). */
+    public static void mergeSort(long[] keys, int[] values) {
+        if (!valido(keys, values)) return;
+        final int n = keys.length;
+        mergeRange(keys, values, new long[n], new int[n], 0, n);
+    }
+
+    private static void mergeRange(long[] k, int[] v, long[] bk, int[] bv, int lo, int hi) {
+        if (hi - lo <= Ordenadores.INSERTION_CUTOFF) {
+            insertion(k, v, lo, hi - 1);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        mergeRange(k, v, bk, bv, lo, mid);
+        mergeRange(k, v, bk, bv, mid, hi);
+        if (k[mid - 1] <= k[mid]) return;
+
+        System.arraycopy(k, lo, bk, lo, hi - lo);
+        System.arraycopy(v, lo, bv, lo, hi - lo);
+        int i = lo, j = mid, p = lo;
+        while (i < mid && j < hi) {
+            if (bk[j] < bk[i]) { k[p] = bk[j]; v[p++] = bv[j++]; }
+            else               { k[p] = bk[i]; v[p++] = bv[i++]; } // empate: esquerda primeiro
+        }
+        while (i < mid) { k[p] = bk[i]; v[p++] = bv[i++]; }
+        while (j < hi)  { k[p] = bk[j]; v[p++] = bv[j++]; }
+    }
+
+    /** Quick sort (Hoare + mediana de 3), NÃO estável; sem memória auxiliar. */
+    public static void quickSort(long[] keys, int[] values) {
+        if (!valido(keys, values)) return;
+        quick(keys, values, 0, keys.length - 1);
+    }
+
+    private static void quick(long[] k, int[] v, int lo, int hi) {
+        while (hi - lo + 1 > Ordenadores.INSERTION_CUTOFF) {
+            int j = hoarePartition(k, v, lo, hi);
+            if (j - lo < hi - (j + 1)) { // recursão no menor lado: pilha O(log n)
+                quick(k, v, lo, j);
+                lo = j + 1;
+            } else {
+                quick(k, v, j + 1, hi);
+                hi = j;
+            }
+        }
+        insertion(k, v, lo, hi);
+    }
+
+    private static int hoarePartition(long[] k, int[] v, int lo, int hi) {
+        long pivot = k[Ordenadores.medianOf3(k, lo, lo + ((hi - lo) >>> 1), hi)];
+        int i = lo - 1, j = hi + 1;
+        while (true) {
+            do { i++; } while (k[i] < pivot);
+            do { j--; } while (k[j] > pivot);
+            if (i >= j) return j;
+            long tk = k[i]; k[i] = k[j]; k[j] = tk;
+            int tv = v[i]; v[i] = v[j]; v[j] = tv;
+        }
+    }
+
+    /** Inserção em [lo, hi] (inclusivo), movendo chave e valor juntos. */
+    private static void insertion(long[] k, int[] v, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            long key = k[i];
+            int val = v[i];
+            int j = i - 1;
+            while (j >= lo && k[j] > key) {
+                k[j + 1] = k[j];
+                v[j + 1] = v[j];
+                j--;
+            }
+            k[j + 1] = key;
+            v[j + 1] = val;
+        }
+    }
+
+    private static boolean valido(long[] keys, int[] values) {
+        if (keys == null || values == null) return false;
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("keys e values com tamanhos diferentes: "
+                    + keys.length + " != " + values.length);
+        }
+        return keys.length > 1;
+    }
+
+    // ---------- Chaves long[] + valores Object[] ----------
+
+    /** Counting estável: faixa detectada; se for esparsa, usa o radix (também estável). */
+    public static void countingSort(long[] keys, Object[] values) {
+        if (!valido(keys, values)) return;
+        final int n = keys.length;
+        long min = keys[0], max = keys[0];
+        for (long k : keys) {
+            if (k < min) min = k;
+            else if (k > max) max = k;
+        }
+        long dif = max - min; // com chaves long a diferença pode estourar (fica negativa)
+        long faixa = dif < 0 || dif == Long.MAX_VALUE ? Long.MAX_VALUE : dif + 1;
+        if (CountingSort.escolherCaminho(n, faixa) != CountingSort.Caminho.DENSO) {
+            radixSort(keys, values);
+            return;
+        }
+        int[] cont = new int[(int) faixa + 1];
+        for (long k : keys) cont[(int) (k - min) + 1]++;
+        for (int i = 1; i < cont.length; i++) cont[i] += cont[i - 1];
+
+        long[] k2 = new long[n];
+        Object[] v2 = new Object[n];
+        for (int i = 0; i < n; i++) { // da esquerda p/ direita com posições iniciais: estável
+            int p = cont[(int) (keys[i] - min)]++;
+            k2[p] = keys[i];
+            v2[p] = values[i];
+        }
+        System.arraycopy(k2, 0, keys, 0, n);
+        System.arraycopy(v2, 0, values, 0, n);
+    }
+
+    /** Radix LSD de bytes (com sinal), estável: cada valor acompanha a sua chave. */
+    public static void radixSort(long[] keys, Object[] values) {
+        if (!valido(keys, values)) return;
+        final int n = keys.length;
+
+        int[] cont = new int[8 * RADIX];
+        for (long k : keys) {
+            long u = k ^ Long.MIN_VALUE;
+            for (int passe = 0; passe < 8; passe++) cont[passe * RADIX + (int) ((u >>> (passe * 8)) & 0xFF)]++;
+        }
+
+        long[] ks = keys, kd = new long[n];
+        Object[] vs = values, vd = new Object[n];
+        for (int passe = 0; passe < 8; passe++) {
+            final int off = passe * RADIX, shift = passe * 8;
+            if (cont[off + (int) (((ks[0] ^ Long.MIN_VALUE) >>> shift) & 0xFF)] == n) continue; // byte igual em todos
+
+            prefixo(cont, off);
+            for (int i = 0; i < n; i++) {
+                long k = ks[i];
+                int p = cont[off + (int) (((k ^ Long.MIN_VALUE) >>> shift) & 0xFF)]++;
+                kd[p] = k;
+                vd[p] = vs[i];
+            }
+            long[] tk = ks; ks = kd; kd = tk;
+            Object[] tv = vs; vs = vd; vd = tv;
+        }
+        if (ks != keys) {
+            System.arraycopy(ks, 0, keys, 0, n);
+            System.arraycopy(vs, 0, values, 0, n);
+        }
+    }
+
+    /** Merge sort estável (top-down, inserção abaixo do corte, pula merge de metades já em ordem). */
+    public static void mergeSort(long[] keys, Object[] values) {
+        if (!valido(keys, values)) return;
+        final int n = keys.length;
+        mergeRange(keys, values, new long[n], new Object[n], 0, n);
+    }
+
+    private static void mergeRange(long[] k, Object[] v, long[] bk, Object[] bv, int lo, int hi) {
+        if (hi - lo <= Ordenadores.INSERTION_CUTOFF) {
+            insertion(k, v, lo, hi - 1);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        mergeRange(k, v, bk, bv, lo, mid);
+        mergeRange(k, v, bk, bv, mid, hi);
+        if (k[mid - 1] <= k[mid]) return;
+
+        System.arraycopy(k, lo, bk, lo, hi - lo);
+        System.arraycopy(v, lo, bv, lo, hi - lo);
+        int i = lo, j = mid, p = lo;
+        while (i < mid && j < hi) {
+            if (bk[j] < bk[i]) { k[p] = bk[j]; v[p++] = bv[j++]; }
+            else               { k[p] = bk[i]; v[p++] = bv[i++]; } // empate: esquerda primeiro
+        }
+        while (i < mid) { k[p] = bk[i]; v[p++] = bv[i++]; }
+        while (j < hi)  { k[p] = bk[j]; v[p++] = bv[j++]; }
+    }
+
+    /** Quick sort (Hoare + mediana de 3), NÃO estável; sem memória auxiliar. */
+    public static void quickSort(long[] keys, Object[] values) {
+        if (!valido(keys, values)) return;
+        quick(keys, values, 0, keys.length - 1);
+    }
+
+    private static void quick(long[] k, Object[] v, int lo, int hi) {
+        while (hi - lo + 1 > Ordenadores.INSERTION_CUTOFF) {
+            int j = hoarePartition(k, v, lo, hi);
+            if (j - lo < hi - (j + 1)) { // recursão no menor lado: pilha O(log n)
+                quick(k, v, lo, j);
+                lo = j + 1;
+            } else {
+                quick(k, v, j + 1, hi);
+                hi = j;
+            }
+        }
+        insertion(k, v, lo, hi);
+    }
+
+    private static int hoarePartition(long[] k, Object[] v, int lo, int hi) {
+        long pivot = k[Ordenadores.medianOf3(k, lo, lo + ((hi - lo) >>> 1), hi)];
+        int i = lo - 1, j = hi + 1;
+        while (true) {
+            do { i++; } while (k[i] < pivot);
+            do { j--; } while (k[j] > pivot);
+            if (i >= j) return j;
+            long tk = k[i]; k[i] = k[j]; k[j] = tk;
+            Object tv = v[i]; v[i] = v[j]; v[j] = tv;
+        }
+    }
+
+    /** Inserção em [lo, hi] (inclusivo), movendo chave e valor juntos. */
+    private static void insertion(long[] k, Object[] v, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            long key = k[i];
+            Object val = v[i];
+            int j = i - 1;
+            while (j >= lo && k[j] > key) {
+                k[j + 1] = k[j];
+                v[j + 1] = v[j];
+                j--;
+            }
+            k[j + 1] = key;
+            v[j + 1] = val;
+        }
+    }
+
+    private static boolean valido(long[] keys, Object[] values) {
+        if (keys == null || values == null) return false;
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("keys e values com tamanhos diferentes: "
+                    + keys.length + " != " + values.length);
+        }
+        return keys.length > 1;
+    }
+
+    /** Troca as contagens de cont[off, off+RADIX) pelas posições iniciais de cada byte. */
+    private static void prefixo(int[] cont, int off) {
+        int soma = 0;
+        for (int i = off; i < off + RADIX; i++) {
+            int c = cont[i];
+            cont[i] = soma;
+            soma += c;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package sorting;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Ordenação in-place de arquivos binários de int/long via memória mapeada
+ * (FileChannel.map + visões IntBuffer/LongBuffer), sem carregar nada no heap:
+ * os dados vivem no page cache e não há pressão de GC.
+ * - Arquivos acima de 2 GB são mapeados em vários segmentos (1 GB cada); o acesso
+ *   usa índice long (OffHeapInts/OffHeapLongs sobre os segmentos mapeados).
+ * - QUICK: introsort (Hoare + mediana de 3; heap sort ao passar de 2*log2(n) níveis).
+ * - RADIX: American flag sort — radix MSD de bytes (com sinal) que permuta no lugar,
+ *   então não precisa de um segundo arquivo do tamanho da entrada.
+ * Os algoritmos são os de OffHeapSort. Ao final, as páginas são gravadas (force).
+ */
+public final class MappedFileSort {
+    private MappedFileSort() {}
+
+    public enum Algoritmo { RADIX, QUICK }
+
+    /** Ordena in-place um arquivo de int binários (tamanho múltiplo de 4 bytes). */
+    public static void sortInts(Path arquivo, Algoritmo alg, ByteOrder ordem) throws IOException {
+        sortInts(arquivo, alg, ordem, OffHeapInts.BYTES_POR_SEGMENTO);
+    }
+
+    static void sortInts(Path arquivo, Algoritmo alg, ByteOrder ordem, int bytesPorSegmento) throws IOException {
+        try (FileChannel ch = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long n = ch.size() / 4;
+            if (n < 2) return;
+            OffHeapInts a = OffHeapInts.map(ch, n, ordem, bytesPorSegmento / 4);
+            if (alg == Algoritmo.QUICK) OffHeapSort.quickSort(a);
+            else                        OffHeapSort.radixSort(a);
+            a.force();
+        }
+    }
+
+    /** Ordena in-place um arquivo de long binários (tamanho múltiplo de 8 bytes). */
+    public static void sortLongs(Path arquivo, Algoritmo alg, ByteOrder ordem) throws IOException {
+        sortLongs(arquivo, alg, ordem, OffHeapLongs.BYTES_POR_SEGMENTO);
+    }
+
+    static void sortLongs(Path arquivo, Algoritmo alg, ByteOrder ordem, int bytesPorSegmento) throws IOException {
+        try (FileChannel ch = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long n = ch.size() / 8;
+            if (n < 2) return;
+            OffHeapLongs a = OffHeapLongs.map(ch, n, ordem, bytesPorSegmento / 8);
+            if (alg == Algoritmo.QUICK) OffHeapSort.quickSort(a);
+            else                        OffHeapSort.radixSort(a);
+            a.force();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package sorting;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Instrumentação opcional dos ordenadores: comparações, trocas, movimentos (escritas
+ * de elementos fora de swap), alocações de buffers e profundidade máxima de recursão.
+ *
+ * - Liga com -Dsorting.metricas=true. ATIVO é static final: com a instrumentação
+ *   desligada o JIT dobra cada "if (ATIVO)" e os ganchos somem do código compilado.
+ * - Ligada, cada thread conta nos seus próprios Contadores (ThreadLocal), então as
+ *   versões fork-join contam sem disputa; ler() soma as threads.
+ * - Threads que terminam (pools descartados pelo Runner e por Paralelismo.executar) têm
+ *   a contagem somada num acumulador e saem do registro, que não cresce com o tempo.
+ * - Uso: zerar(), ordenar, ler(). Não é para chamar no meio de uma ordenação.
+ *
+ * Cobertura (o que o bench compara): Ordenadores com Comparable, int[], long[] e double[]
+ * (bubble, insertion, selection, shell, heap, merge, quick, intro, 3-way, dual-pivot),
+ * SmallSort, FloydHeapSort, ParallelMergeSort, ParallelQuickSort (pelas partições de
+ * Ordenadores), PartialSort, TimSort (Comparable e int[]) e os buffers de Workspace.
+ * Fora dela: as versões com Comparator e os lineares (counting, radix, bucket), que só
+ * aparecem pelas alocações de Workspace — o Runner não anexa contadores a esses.
+ */
+public final class Metricas {
+    private Metricas() {}
+
+    public static final boolean ATIVO = Boolean.getBoolean("sorting.metricas");
+
+    /** Contadores de uma thread; só a própria thread escreve. */
+    private static final class Contadores {
+        private final WeakReference<Thread> dona;
+        long comparacoes, trocas, movimentos, alocacoes, bytesAlocados;
+        int profundidade, profundidadeMax;
+
+        Contadores(Thread dona) {
+            this.dona = new WeakReference<>(dona);
+        }
+
+        /** isAlive() == false garante que as escritas da thread já são visíveis aqui. */
+        boolean encerrada() {
+            Thread t = dona.get();
+            return t == null || !t.isAlive();
+        }
+
+        void zerar() {
+            comparacoes = trocas = movimentos = alocacoes = bytesAlocados = 0;
+            profundidade = profundidadeMax = 0;
+        }
+
+        void somarEm(Contadores total) {
+            total.comparacoes += comparacoes;
+            total.trocas += trocas;
+            total.movimentos += movimentos;
+            total.alocacoes += alocacoes;
+            total.bytesAlocados += bytesAlocados;
+            total.profundidadeMax = Math.max(total.profundidadeMax, profundidadeMax);
+        }
+    }
+
+    // Registro das threads vivas (guardado pelo próprio monitor) e soma das que já terminaram.
+    private static final List<Contadores> TODOS = new ArrayList<>();
+    private static final Contadores ENCERRADAS = new Contadores(null);
+
+    private static final ThreadLocal<Contadores> LOCAL = ThreadLocal.withInitial(() -> {
+        Contadores c = new Contadores(Thread.currentThread());
+        synchronized (TODOS) {
+            recolherEncerradas();
+            TODOS.add(c);
+        }
+        return c;
+    });
+
+    /** Soma em ENCERRADAS os contadores de threads que terminaram e tira-os do registro. */
+    private static void recolherEncerradas() {
+        for (Iterator<Contadores> it = TODOS.iterator(); it.hasNext(); ) {
+            Contadores c = it.next();
+            if (c.encerrada()) {
+                c.somarEm(ENCERRADAS);
+                it.remove();
+            }
+        }
+    }
+
+    /** Contagem somada de todas as threads, lida por ler(). */
+    public static final class Leitura {
+        private final long comparacoes, trocas, movimentos, alocacoes, bytesAlocados;
+        private final int profundidadeMax;
+
+        Leitura(long comparacoes, long trocas, long movimentos,
+                long alocacoes, long bytesAlocados, int profundidadeMax) {
+            this.comparacoes = comparacoes;
+            this.trocas = trocas;
+            this.movimentos = movimentos;
+            this.alocacoes = alocacoes;
+            this.bytesAlocados = bytesAlocados;
+            this.profundidadeMax = profundidadeMax;
+        }
+
+        public long getComparacoes() { return comparacoes; }
+        public long getTrocas() { return trocas; }
+        public long getMovimentos() { return movimentos; }
+        public long getAlocacoes() { return alocacoes; }
+        public long getBytesAlocados() { return bytesAlocados; }
+        /** Maior profundidade de recursão vista em uma thread. */
+        public int getProfundidadeMax() { return profundidadeMax; }
+
+        @Override
+        public String toString() {
+            return "comparacoes=" + comparacoes + ", trocas=" + trocas + ", movimentos=" + movimentos
+                 + ", alocacoes=" + alocacoes + ", bytes=" + bytesAlocados
+                 + ", profundidade=" + profundidadeMax;
+        }
+    }
+
+    // ---------- Leitura (bench) ----------
+
+    public static void zerar() {
+        synchronized (TODOS) {
+            recolherEncerradas();
+            ENCERRADAS.zerar();
+            for (Contadores c : TODOS) c.zerar();
+        }
+    }
+
+    public static Leitura ler() {
+        Contadores total = new Contadores(null);
+        synchronized (TODOS) {
+            recolherEncerradas();
+            ENCERRADAS.somarEm(total);
+            for (Contadores c : TODOS) c.somarEm(total);
+        }
+        return new Leitura(total.comparacoes, total.trocas, total.movimentos,
+                           total.alocacoes, total.bytesAlocados, total.profundidadeMax);
+    }
+
+    // ---------- Ganchos (ordenadores) ----------
+
+    /** Conta uma comparação e devolve o próprio resultado: while (cmp(a[j] > v)) ... */
+    static boolean cmp(boolean resultado) {
+        if (ATIVO) LOCAL.get().comparacoes++;
+        return resultado;
+    }
+
+    static void comparacoes(long n) {
+        if (ATIVO) LOCAL.get().comparacoes += n;
+    }
+
+    static void troca() {
+        if (ATIVO) LOCAL.get().trocas++;
+    }
+
+    static void movimento() {
+        if (ATIVO) LOCAL.get().movimentos++;
+    }
+
+    static void movimentos(long n) {
+        if (ATIVO) LOCAL.get().movimentos += n;
+    }
+
+    static void alocacao(long bytes) {
+        if (ATIVO) {
+            Contadores c = LOCAL.get();
+            c.alocacoes++;
+            c.bytesAlocados += bytes;
+        }
+    }
+
+    /** Entrada numa chamada recursiva; todo entrar() tem um sair() antes de cada retorno. */
+    static void entrar() {
+        if (ATIVO) {
+            Contadores c = LOCAL.get();
+            if (++c.profundidade > c.profundidadeMax) c.profundidadeMax = c.profundidade;
+        }
+    }
+
+    static void sair() {
+        if (ATIVO) LOCAL.get().profundidade--;
+    }
+}
@@ -0,0 +1,121 @@
+package sorting;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Vetor de int fora do heap, indexado por long (passa do limite de 2^31 posições dos arrays).
+ * Os dados ficam em segmentos mapeados de até 1 GB — de um arquivo temporário (allocate) ou
+ * do arquivo do usuário (MappedFileSort) —, vistos como IntBuffer: segmento = i >>> shift,
+ * posição = i & mask.
+ * Mapeamentos não contam no -XX:MaxDirectMemorySize (que por padrão é o tamanho do heap,
+ * e limitaria ByteBuffer.allocateDirect): o vetor não depende do heap nem de flags da JVM.
+ * A memória é devolvida quando o objeto é coletado. Ordenação em OffHeapSort.
+ */
+public final class OffHeapInts {
+    static final int BYTES_POR_SEGMENTO = 1 << 30;
+
+    private final ByteBuffer[] bufs;
+    private final IntBuffer[] segs;
+    private final int shift;
+    private final long mask;
+    private final long length;
+
+    private OffHeapInts(ByteBuffer[] bufs, long length, int shift) {
+        this.bufs = bufs;
+        this.length = length;
+        this.shift = shift;
+        this.mask = (1L << shift) - 1;
+        this.segs = new IntBuffer[bufs.length];
+        for (int s = 0; s < bufs.length; s++) segs[s] = bufs[s].asIntBuffer();
+    }
+
+    /** Aloca 'n' posições zeradas (ordem de bytes nativa) num arquivo temporário em java.io.tmpdir. */
+    public static OffHeapInts allocate(long n) {
+        return allocate(n, null);
+    }
+
+    /**
+     * Aloca 'n' posições zeradas (ordem de bytes nativa) mapeando um arquivo temporário
+     * esparso em 'dir' (null = java.io.tmpdir), apagado logo após o mapeamento. As páginas
+     * vivem no page cache e o SO as descarrega no arquivo sob pressão de memória, então
+     * 'dir' precisa de n*4 bytes livres (conferido aqui; num tmpfs, conta RAM + swap).
+     */
+    public static OffHeapInts allocate(long n, Path dir) {
+        final int elementosPorSegmento = BYTES_POR_SEGMENTO / 4;
+        numSegmentos(n, shiftPara(elementosPorSegmento)); // valida n antes de criar o arquivo
+        try (FileChannel ch = arquivoTemporario(dir, n * 4)) {
+            return map(ch, n, ByteOrder.nativeOrder(), elementosPorSegmento);
+        } catch (IOException e) {
+            throw new UncheckedIOException("não foi possível alocar " + n + " int fora do heap", e);
+        }
+    }
+
+    /** Mapeia os 'n' primeiros int do arquivo (leitura e escrita), em segmentos de até 'elementosPorSegmento'. */
+    static OffHeapInts map(FileChannel ch, long n, ByteOrder ordem, int elementosPorSegmento) throws IOException {
+        final int shift = shiftPara(elementosPorSegmento);
+        final long porSeg = 1L << shift;
+        ByteBuffer[] bufs = new ByteBuffer[numSegmentos(n, shift)];
+        for (int s = 0; s < bufs.length; s++) {
+            long ini = s * porSeg;
+            long qtd = Math.min(porSeg, n - ini);
+            bufs[s] = ch.map(FileChannel.MapMode.READ_WRITE, ini * 4, qtd * 4).order(ordem);
+        }
+        return new OffHeapInts(bufs, n, shift);
+    }
+
+    /**
+     * Canal de um arquivo temporário novo, apagado ao fechar (os mapeamentos continuam
+     * válidos). Falha logo se o sistema de arquivos não tem 'bytes' livres: num arquivo
+     * esparso, faltar espaço só apareceria depois, como erro fatal ao escrever uma página.
+     */
+    static FileChannel arquivoTemporario(Path dir, long bytes) throws IOException {
+        Path p = dir == null ? Files.createTempFile("offheap-", ".bin")
+                             : Files.createTempFile(dir, "offheap-", ".bin");
+        long livre = Files.getFileStore(p).getUsableSpace();
+        if (livre < bytes) {
+            Files.deleteIfExists(p);
+            throw new IOException("espaço insuficiente em " + p.getParent() + ": precisa de "
+                    + bytes + " bytes, há " + livre + " livres");
+        }
+        return FileChannel.open(p, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                                StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    /** Maior potência de 2 <= elementos (mínimo 1), em bits. */
+    private static int shiftPara(int elementos) {
+        return 31 - Integer.numberOfLeadingZeros(Math.max(1, elementos));
+    }
+
+    private static int numSegmentos(long n, int shift) {
+        if (n < 0) throw new IllegalArgumentException("tamanho negativo: " + n);
+        return (int) ((n + (1L << shift) - 1) >>> shift);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public int get(long i) {
+        return segs[(int) (i >>> shift)].get((int) (i & mask));
+    }
+
+    public void set(long i, int v) {
+        segs[(int) (i >>> shift)].put((int) (i & mask), v);
+    }
+
+    /** Grava no arquivo as páginas alteradas (MappedFileSort; o temporário de allocate não precisa). */
+    void force() {
+        for (ByteBuffer b : bufs) {
+            if (b instanceof MappedByteBuffer m) m.force();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package sorting;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * Vetor de long fora do heap, indexado por long (passa do limite de 2^31 posições dos arrays).
+ * Mesmo layout de OffHeapInts: segmentos mapeados de até 1 GB (arquivo temporário em
+ * allocate, arquivo do usuário em MappedFileSort), vistos como LongBuffer, fora do heap e
+ * fora do limite de -XX:MaxDirectMemorySize. Ordenação em OffHeapSort.
+ */
+public final class OffHeapLongs {
+    static final int BYTES_POR_SEGMENTO = 1 << 30;
+
+    private final ByteBuffer[] bufs;
+    private final LongBuffer[] segs;
+    private final int shift;
+    private final long mask;
+    private final long length;
+
+    private OffHeapLongs(ByteBuffer[] bufs, long length, int shift) {
+        this.bufs = bufs;
+        this.length = length;
+        this.shift = shift;
+        this.mask = (1L << shift) - 1;
+        this.segs = new LongBuffer[bufs.length];
+        for (int s = 0; s < bufs.length; s++) segs[s] = bufs[s].asLongBuffer();
+    }
+
+    /** Aloca 'n' posições zeradas (ordem de bytes nativa) num arquivo temporário em java.io.tmpdir. */
+    public static OffHeapLongs allocate(long n) {
+        return allocate(n, null);
+    }
+
+    /** Como OffHeapInts.allocate(n, dir): arquivo temporário esparso mapeado; 'dir' precisa de n*8 bytes livres. */
+    public static OffHeapLongs allocate(long n, Path dir) {
+        final int elementosPorSegmento = BYTES_POR_SEGMENTO / 8;
+        numSegmentos(n, shiftPara(elementosPorSegmento)); // valida n antes de criar o arquivo
+        try (FileChannel ch = OffHeapInts.arquivoTemporario(dir, n * 8)) {
+            return map(ch, n, ByteOrder.nativeOrder(), elementosPorSegmento);
+        } catch (IOException e) {
+            throw new UncheckedIOException("não foi possível alocar " + n + " long fora do heap", e);
+        }
+    }
+
+    /** Mapeia os 'n' primeiros long do arquivo (leitura e escrita), em segmentos de até 'elementosPorSegmento'. */
+    static OffHeapLongs map(FileChannel ch, long n, ByteOrder ordem, int elementosPorSegmento) throws IOException {
+        final int shift = shiftPara(elementosPorSegmento);
+        final long porSeg = 1L << shift;
+        ByteBuffer[] bufs = new ByteBuffer[numSegmentos(n, shift)];
+        for (int s = 0; s < bufs.length; s++) {
+            long ini = s * porSeg;
+            long qtd = Math.min(porSeg, n - ini);
+            bufs[s] = ch.map(FileChannel.MapMode.READ_WRITE, ini * 8, qtd * 8).order(ordem);
+        }
+        return new OffHeapLongs(bufs, n, shift);
+    }
+
+    /** Maior potência de 2 <= elementos (mínimo 1), em bits. */
+    private static int shiftPara(int elementos) {
+        return 31 - Integer.numberOfLeadingZeros(Math.max(1, elementos));
+    }
+
+    private static int numSegmentos(long n, int shift) {
+        if (n < 0) throw new IllegalArgumentException("tamanho negativo: " + n);
+        return (int) ((n + (1L << shift) - 1) >>> shift);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public long get(long i) {
+        return segs[(int) (i >>> shift)].get((int) (i & mask));
+    }
+
+    public void set(long i, long v) {
+        segs[(int) (i >>> shift)].put((int) (i & mask), v);
+    }
+
+    /** Grava no arquivo as páginas alteradas (MappedFileSort; o temporário de allocate não precisa). */
+    void force() {
+        for (ByteBuffer b : bufs) {
+            if (b instanceof MappedByteBuffer m) m.force();
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package sorting;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Ordenação de vetores off-heap indexados por long (OffHeapInts / OffHeapLongs), para
+ * conjuntos maiores que 2^31 elementos sem precisar de um heap desse tamanho.
+ * - radixSort: American flag sort — radix MSD de bytes com sinal, permutando no lugar.
+ * - quickSort: introsort (Hoare + mediana de 3; heap sort ao passar de 2*log2(n) níveis).
+ * - mergeSort: bottom-up estável, com buffer off-heap do mesmo tamanho (allocate: arquivo
+ *   temporário mapeado, então pede esse espaço livre em disco, não memória direta). O
+ *   buffer fica em java.io.tmpdir, ou no diretório de mergeSort(a, dirTemporario) — útil
+ *   quando /tmp é tmpfs. Os vetores off-heap não têm close(): o mapeamento, e o espaço
+ *   do arquivo já apagado, só é devolvido quando o GC coleta o buffer.
+ * Trechos pequenos caem na inserção direta. Também usado por MappedFileSort, em que o
+ * vetor é um arquivo mapeado.
+ */
+public final class OffHeapSort {
+    private OffHeapSort() {}
+
+    static final int INSERTION_CUTOFF = 32;
+    private static final int RADIX = 256;
+
+    /** 2*floor(log2 n), como Ordenadores.depthLimit, para n long. */
+    private static int depthLimit(long n) {
+        return 2 * (63 - Long.numberOfLeadingZeros(Math.max(1, n)));
+    }
+
+    // ---------- int ----------
+
+    /** Radix MSD in-place (American flag sort): sem memória auxiliar do tamanho da entrada. */
+    public static void radixSort(OffHeapInts a) {
+        if (a.length() > 1) flag(a, 0, a.length(), 24);
+    }
+
+    /** Introsort: O(n log n) no pior caso, in-place. */
+    public static void quickSort(OffHeapInts a) {
+        if (a.length() > 1) intro(a, 0, a.length() - 1, depthLimit(a.length()));
+    }
+
+    /**
+     * Merge sort bottom-up estável: runs iniciais de INSERTION_CUTOFF por inserção e
+     * intercalações alternando entre 'a' e um buffer off-heap do mesmo tamanho.
+     */
+    public static void mergeSort(OffHeapInts a) {
+        mergeSort(a, null);
+    }
+
+    /** Igual ao anterior, com o buffer num arquivo temporário em 'dirTemporario' (null = java.io.tmpdir). */
+    public static void mergeSort(OffHeapInts a, Path dirTemporario) {
+        final long n = a.length();
+        if (n < 2) return;
+        for (long lo = 0; lo < n; lo += INSERTION_CUTOFF) insertion(a, lo, Math.min(n, lo + INSERTION_CUTOFF) - 1);
+        if (n <= INSERTION_CUTOFF) return;
+
+        OffHeapInts src = a, dst = OffHeapInts.allocate(n, dirTemporario);
+        for (long w = INSERTION_CUTOFF; w < n; w <<= 1) {
+            for (long lo = 0; lo < n; lo += w << 1) {
+                long mid = Math.min(lo + w, n), hi = Math.min(lo + (w << 1), n);
+                mergeRuns(src, dst, lo, mid, hi);
+            }
+            OffHeapInts t = src; src = dst; dst = t;
+        }
+        if (src != a) for (long i = 0; i < n; i++) a.set(i, src.get(i));
+    }
+
+    private static void mergeRuns(OffHeapInts src, OffHeapInts dst, long lo, long mid, long hi) {
+        long i = lo, j = mid, k = lo;
+        if (mid < hi && src.get(mid - 1) <= src.get(mid)) { // já em ordem: só copia
+            while (k < hi) { dst.set(k, src.get(k)); k++; }
+            return;
+        }
+        while (i < mid && j < hi) {
+            int vi = src.get(i), vj = src.get(j);
+            if (vi <= vj) { dst.set(k++, vi); i++; }
+            else          { dst.set(k++, vj); j++; }
+        }
+        while (i < mid) dst.set(k++, src.get(i++));
+        while (j < hi)  dst.set(k++, src.get(j++));
+    }
+
+    /** Introsort em a[lo..hi] (inclusivo): Hoare + mediana de 3, heap ao passar do limite. */
+    private static void intro(OffHeapInts a, long lo, long hi, int depth) {
+        while (hi - lo + 1 > INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                heap(a, lo, hi);
+                return;
+            }
+            long j = hoarePartition(a, lo, hi);
+            if (j - lo < hi - (j + 1)) {
+                intro(a, lo, j, depth);
+                lo = j + 1;
+            } else {
+                intro(a, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertion(a, lo, hi);
+    }
+
+    private static long hoarePartition(OffHeapInts a, long lo, long hi) {
+        long mid = lo + ((hi - lo) >>> 1);
+        int x = a.get(lo), y = a.get(mid), z = a.get(hi);
+        int pivot = x < y ? (y < z ? y : (x < z ? z : x)) : (x < z ? x : (y < z ? z : y));
+        long i = lo - 1, j = hi + 1;
+        while (true) {
+            int vi, vj;
+            do { vi = a.get(++i); } while (vi < pivot);
+            do { vj = a.get(--j); } while (vj > pivot);
+            if (i >= j) return j;
+            a.set(i, vj);
+            a.set(j, vi);
+        }
+    }
+
+    private static void heap(OffHeapInts a, long lo, long hi) {
+        final long n = hi - lo + 1;
+        for (long i = (n >>> 1) - 1; i >= 0; i--) siftDown(a, lo, i, n);
+        for (long end = n - 1; end > 0; end--) {
+            int t = a.get(lo);
+            a.set(lo, a.get(lo + end));
+            a.set(lo + end, t);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(OffHeapInts a, long base, long i, long n) {
+        int x = a.get(base + i);
+        while (true) {
+            long c = (i << 1) + 1;
+            if (c >= n) break;
+            int vc = a.get(base + c);
+            if (c + 1 < n) {
+                int vd = a.get(base + c + 1);
+                if (vd > vc) { c++; vc = vd; }
+            }
+            if (vc <= x) break;
+            a.set(base + i, vc);
+            i = c;
+        }
+        a.set(base + i, x);
+    }
+
+    private static void insertion(OffHeapInts a, long lo, long hi) {
+        for (long i = lo + 1; i <= hi; i++) {
+            int key = a.get(i);
+            long j = i - 1;
+            int vj;
+            while (j >= lo && (vj = a.get(j)) > key) {
+                a.set(j + 1, vj);
+                j--;
+            }
+            a.set(j + 1, key);
+        }
+    }
+
+    /**
+     * American flag sort (radix MSD in-place) de a[lo, hi) pelo byte 'shift' com sinal:
+     * conta o byte, calcula o início de cada bucket e leva cada elemento ao seu bucket
+     * seguindo ciclos de trocas; depois repete em cada bucket com o próximo byte.
+     */
+    private static void flag(OffHeapInts a, long lo, long hi, int shift) {
+        if (hi - lo <= INSERTION_CUTOFF) {
+            insertion(a, lo, hi - 1);
+            return;
+        }
+        long[] ini = new long[RADIX + 1];
+        for (long i = lo; i < hi; i++) ini[digito(a.get(i), shift) + 1]++;
+        ini[0] = lo;
+        for (int d = 1; d <= RADIX; d++) ini[d] += ini[d - 1];
+
+        long[] prox = Arrays.copyOf(ini, RADIX);
+        for (int d = 0; d < RADIX; d++) {
+            final long fim = ini[d + 1];
+            while (prox[d] < fim) {
+                int v = a.get(prox[d]);
+                int dv = digito(v, shift);
+                while (dv != d) { // segue o ciclo até achar um elemento deste bucket
+                    long p = prox[dv]++;
+                    int t = a.get(p);
+                    a.set(p, v);
+                    v = t;
+                    dv = digito(v, shift);
+                }
+                a.set(prox[d]++, v);
+            }
+        }
+        if (shift == 0) return;
+        for (int d = 0; d < RADIX; d++) {
+            if (ini[d + 1] - ini[d] > 1) flag(a, ini[d], ini[d + 1], shift - 8);
+        }
+    }
+
+    private static int digito(int v, int shift) {
+        return ((v ^ Integer.MIN_VALUE) >>> shift) & 0xFF;
+    }
+
+    // ---------- long ----------
+
+    /** Radix MSD in-place (American flag sort): sem memória auxiliar do tamanho da entrada. */
+    public static void radixSort(OffHeapLongs a) {
+        if (a.length() > 1) flag(a, 0, a.length(), 56);
+    }
+
+    /** Introsort: O(n log n) no pior caso, in-place. */
+    public static void quickSort(OffHeapLongs a) {
+        if (a.length() > 1) intro(a, 0, a.length() - 1, depthLimit(a.length()));
+    }
+
+    /**
+     * Merge sort bottom-up estável: runs iniciais de INSERTION_CUTOFF por inserção e
+     * intercalações alternando entre 'a' e um buffer off-heap do mesmo tamanho.
+     */
+    public static void mergeSort(OffHeapLongs a) {
+        mergeSort(a, null);
+    }
+
+    /** Igual ao anterior, com o buffer num arquivo temporário em 'dirTemporario' (null = java.io.tmpdir). */
+    public static void mergeSort(OffHeapLongs a, Path dirTemporario) {
+        final long n = a.length();
+        if (n < 2) return;
+        for (long lo = 0; lo < n; lo += INSERTION_CUTOFF) insertion(a, lo, Math.min(n, lo + INSERTION_CUTOFF) - 1);
+        if (n <= INSERTION_CUTOFF) return;
+
+        OffHeapLongs src = a, dst = OffHeapLongs.allocate(n, dirTemporario);
+        for (long w = INSERTION_CUTOFF; w < n; w <<= 1) {
+            for (long lo = 0; lo < n; lo += w << 1) {
+                long mid = Math.min(lo + w, n), hi = Math.min(lo + (w << 1), n);
+                mergeRuns(src, dst, lo, mid, hi);
+            }
+            OffHeapLongs t = src; src = dst; dst = t;
+        }
+        if (src != a) for (long i = 0; i < n; i++) a.set(i, src.get(i));
+    }
+
+    private static void mergeRuns(OffHeapLongs src, OffHeapLongs dst, long lo, long mid, long hi) {
+        long i = lo, j = mid, k = lo;
+        if (mid < hi && src.get(mid - 1) <= src.get(mid)) { // já em ordem: só copia
+            while (k < hi) { dst.set(k, src.get(k)); k++; }
+            return;
+        }
+        while (i < mid && j < hi) {
+            long vi = src.get(i), vj = src.get(j);
+            if (vi <= vj) { dst.set(k++, vi); i++; }
+            else          { dst.set(k++, vj); j++; }
+        }
+        while (i < mid) dst.set(k++, src.get(i++));
+        while (j < hi)  dst.set(k++, src.get(j++));
+    }
+
+    /** Introsort em a[lo..hi] (inclusivo): Hoare + mediana de 3, heap ao passar do limite. */
+    private static void intro(OffHeapLongs a, long lo, long hi, int depth) {
+        while (hi - lo + 1 > INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                heap(a, lo, hi);
+                return;
+            }
+            long j = hoarePartition(a, lo, hi);
+            if (j - lo < hi - (j + 1)) {
+                intro(a, lo, j, depth);
+                lo = j + 1;
+            } else {
+                intro(a, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertion(a, lo, hi);
+    }
+
+    private static long hoarePartition(OffHeapLongs a, long lo, long hi) {
+        long mid = lo + ((hi - lo) >>> 1);
+        long x = a.get(lo), y = a.get(mid), z = a.get(hi);
+        long pivot = x < y ? (y < z ? y : (x < z ? z : x)) : (x < z ? x : (y < z ? z : y));
+        long i = lo - 1, j = hi + 1;
+        while (true) {
+            long vi, vj;
+            do { vi = a.get(++i); } while (vi < pivot);
+            do { vj = a.get(--j); } while (vj > pivot);
+            if (i >= j) return j;
+            a.set(i, vj);
+            a.set(j, vi);
+        }
+    }
+
+    private static void heap(OffHeapLongs a, long lo, long hi) {
+        final long n = hi - lo + 1;
+        for (long i = (n >>> 1) - 1; i >= 0; i--) siftDown(a, lo, i, n);
+        for (long end = n - 1; end > 0; end--) {
+            long t = a.get(lo);
+            a.set(lo, a.get(lo + end));
+            a.set(lo + end, t);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(OffHeapLongs a, long base, long i, long n) {
+        long x = a.get(base + i);
+        while (true) {
+            long c = (i << 1) + 1;
+            if (c >= n) break;
+            long vc = a.get(base + c);
+            if (c + 1 < n) {
+                long vd = a.get(base + c + 1);
+                if (vd > vc) { c++; vc = vd; }
+            }
+            if (vc <= x) break;
+            a.set(base + i, vc);
+            i = c;
+        }
+        a.set(base + i, x);
+    }
+
+    private static void insertion(OffHeapLongs a, long lo, long hi) {
+        for (long i = lo + 1; i <= hi; i++) {
+            long key = a.get(i);
+            long j = i - 1;
+            long vj;
+            while (j >= lo && (vj = a.get(j)) > key) {
+                a.set(j + 1, vj);
+                j--;
+            }
+            a.set(j + 1, key);
+        }
+    }
+
+    /**
+     * American flag sort (radix MSD in-place) de a[lo, hi) pelo byte 'shift' com sinal:
+     * conta o byte, calcula o início de cada bucket e leva cada elemento ao seu bucket
+     * seguindo ciclos de trocas; depois repete em cada bucket com o próximo byte.
+     */
+    private static void flag(OffHeapLongs a, long lo, long hi, int shift) {
+        if (hi - lo <= INSERTION_CUTOFF) {
+            insertion(a, lo, hi - 1);
+            return;
+        }
+        long[] ini = new long[RADIX + 1];
+        for (long i = lo; i < hi; i++) ini[digito(a.get(i), shift) + 1]++;
+        ini[0] = lo;
+        for (int d = 1; d <= RADIX; d++) ini[d] += ini[d - 1];
+
+        long[] prox = Arrays.copyOf(ini, RADIX);
+        for (int d = 0; d < RADIX; d++) {
+            final long fim = ini[d + 1];
+            while (prox[d] < fim) {
+                long v = a.get(prox[d]);
+                int dv = digito(v, shift);
+                while (dv != d) { // segue o ciclo até achar um elemento deste bucket
+                    long p = prox[dv]++;
+                    long t = a.get(p);
+                    a.set(p, v);
+                    v = t;
+                    dv = digito(v, shift);
+                }
+                a.set(prox[d]++, v);
+            }
+        }
+        if (shift == 0) return;
+        for (int d = 0; d < RADIX; d++) {
+            if (ini[d + 1] - ini[d] > 1) flag(a, ini[d], ini[d + 1], shift - 8);
+        }
+    }
+
+    private static int digito(long v, int shift) {
+        return (int) (((v ^ Long.MIN_VALUE) >>> shift) & 0xFF);
+    }
+}
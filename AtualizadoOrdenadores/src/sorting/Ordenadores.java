@@ -2,6 +2,11 @@ package sorting;
 
 import bench.ColetorPassos;
 
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
 public final class Ordenadores {
 
     private Ordenadores() { }
@@ -15,7 +20,7 @@ public final class Ordenadores {
         do {
             swapped = false;
             for (int i = 1; i < n; i++) {
-                if (a[i - 1].compareTo(a[i]) > 0) {
+                if (Metricas.cmp(a[i - 1].compareTo(a[i]) > 0)) {
                     swap(a, i - 1, i);
                     swapped = true;
                 }
@@ -31,11 +36,13 @@ public final class Ordenadores {
         for (int i = 1; i < a.length; i++) {
             T chave = a[i];
             int j = i - 1;
-            while (j >= 0 && a[j].compareTo(chave) > 0) {
+            while (j >= 0 && Metricas.cmp(a[j].compareTo(chave) > 0)) {
                 a[j + 1] = a[j];
                 j--;
+                Metricas.movimento();
             }
             a[j + 1] = chave;
+            Metricas.movimento();
         }
     }
 
@@ -45,71 +52,68 @@ public final class Ordenadores {
         for (int i = 0; i < n - 1; i++) {
             int min = i;
             for (int j = i + 1; j < n; j++) {
-                if (a[j].compareTo(a[min]) < 0) min = j;
+                if (Metricas.cmp(a[j].compareTo(a[min]) < 0)) min = j;
             }
             if (min != i) swap(a, i, min);
         }
     }
 
-    // ---------- Shell sort (gaps de Ciura + extensão) ----------
+    // ---------- Shell sort (gaps de Ciura + extensão por padrão; ver ShellGaps) ----------
     public static <T extends Comparable<? super T>> void shellSort(T[] a) {
+        shellSort(a, ShellGaps.CIURA);
+    }
+
+    public static <T extends Comparable<? super T>> void shellSort(T[] a, ShellGaps seq) {
         if (a == null || a.length < 2) return;
         final int n = a.length;
 
-        int[] gaps = ciuraGapsUpTo(n);
-        for (int g = gaps.length - 1; g >= 0; g--) {
-            int h = gaps[g];
+        for (int g = seq.quantosAbaixoDe(n) - 1; g >= 0; g--) {
+            int h = seq.gap(g);
             for (int i = h; i < n; i++) {
                 T key = a[i];
                 int j = i;
-                while (j >= h && a[j - h].compareTo(key) > 0) {
+                while (j >= h && Metricas.cmp(a[j - h].compareTo(key) > 0)) {
                     a[j] = a[j - h];
                     j -= h;
+                    Metricas.movimento();
                 }
                 a[j] = key;
+                Metricas.movimento();
             }
         }
     }
 
-    private static int[] ciuraGapsUpTo(int n) {
-        int[] base = {1, 4, 10, 23, 57, 132, 301, 701};
-        java.util.ArrayList<Integer> gs = new java.util.ArrayList<>(base.length + 8);
-        for (int v : base) if (v < n) gs.add(v);
-        int last = gs.isEmpty() ? 1 : gs.get(gs.size() - 1);
-        while (last < n) {
-            last = (int) Math.floor(last * 2.25);
-            if (last < n) gs.add(last);
-        }
-        if (gs.isEmpty()) gs.add(1);
-        int[] out = new int[gs.size()];
-        for (int i = 0; i < out.length; i++) out[i] = gs.get(i);
-        return out;
-    }
 
     // ---------- Heap sort ----------
     public static <T extends Comparable<? super T>> void heapSort(T[] a) {
         if (a == null || a.length < 2) return;
-        final int n = a.length;
+        heapRange(a, 0, a.length - 1);
+    }
+
+    /** Heap sort de a[lo..hi] (inclusivo); a raiz do heap fica em 'lo'. */
+    static <T extends Comparable<? super T>> void heapRange(T[] a, int lo, int hi) {
+        final int n = hi - lo + 1;
 
         for (int i = (n >>> 1) - 1; i >= 0; i--) {
-            siftDown(a, i, n);
+            siftDown(a, lo, i, n);
         }
         for (int end = n - 1; end > 0; end--) {
-            swap(a, 0, end);
-            siftDown(a, 0, end);
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
         }
     }
 
-    private static <T extends Comparable<? super T>> void siftDown(T[] a, int i, int heapSize) {
+    /** siftDown com o heap deslocado: o nó i (relativo) está em a[base + i]. */
+    private static <T extends Comparable<? super T>> void siftDown(T[] a, int base, int i, int heapSize) {
         while (true) {
             int left = (i << 1) + 1;
             if (left >= heapSize) break;
             int right = left + 1;
             int child = left;
-            if (right < heapSize && a[right].compareTo(a[left]) > 0) child = right;
+            if (right < heapSize && Metricas.cmp(a[base + right].compareTo(a[base + left]) > 0)) child = right;
 
-            if (a[child].compareTo(a[i]) > 0) {
-                swap(a, i, child);
+            if (Metricas.cmp(a[base + child].compareTo(a[base + i]) > 0)) {
+                swap(a, base + i, base + child);
                 i = child;
             } else break;
         }
@@ -119,27 +123,44 @@ public final class Ordenadores {
     @SuppressWarnings("unchecked")
     public static <T extends Comparable<? super T>> void mergeSort(T[] a) {
         if (a == null || a.length < 2) return;
-        final int n = a.length;
+        Metricas.alocacao((long) a.length * 4); // referências contadas como 4 bytes (oops comprimidos)
+        mergeSortRange(a, a.clone(), 0, a.length); // clone = buffer
+    }
 
+    /** Igual a mergeSort(a), mas usa o buffer do Workspace em vez de alocar um clone. */
+    public static <T extends Comparable<? super T>> void mergeSort(T[] a, Workspace ws) {
+        if (a == null || a.length < 2) return;
+        mergeSortRange(a, ws.objectBuffer(a, a.length), 0, a.length);
+    }
+
+    /**
+     * Merge bottom-up de a[lo, hi) usando buf[lo, hi) como área auxiliar; o resultado fica em 'a'.
+     * Usado também pelas folhas do ParallelMergeSort.
+     */
+    static <T extends Comparable<? super T>> void mergeSortRange(T[] a, T[] buf, int lo, int hi) {
         T[] src = a;
-        T[] dst = a.clone(); // buffer
+        T[] dst = buf;
 
-        for (int width = 1; width < n; width <<= 1) {
-            for (int i = 0; i < n; i += (width << 1)) {
-                int mid = Math.min(i + width, n);
-                int hi  = Math.min(i + (width << 1), n);
-                mergeRuns(src, dst, i, mid, hi);
+        for (int width = 1; width < hi - lo; width <<= 1) {
+            for (int i = lo; i < hi; i += (width << 1)) {
+                int mid = Math.min(i + width, hi);
+                int end = Math.min(i + (width << 1), hi);
+                mergeRuns(src, dst, i, mid, end);
             }
             T[] tmp = src; src = dst; dst = tmp;
         }
-        if (src != a) System.arraycopy(src, 0, a, 0, n);
+        if (src != a) {
+            System.arraycopy(src, lo, a, lo, hi - lo);
+            Metricas.movimentos(hi - lo);
+        }
     }
 
     private static <T extends Comparable<? super T>>
     void mergeRuns(T[] src, T[] dst, int lo, int mid, int hi) {
+        Metricas.movimentos(hi - lo);
         int i = lo, j = mid, k = lo;
         while (i < mid && j < hi) {
-            if (src[i].compareTo(src[j]) <= 0) dst[k++] = src[i++];
+            if (Metricas.cmp(src[i].compareTo(src[j]) <= 0)) dst[k++] = src[i++];
             else                               dst[k++] = src[j++];
         }
         while (i < mid) dst[k++] = src[i++];
@@ -152,19 +173,25 @@ public final class Ordenadores {
         quick(a, 0, a.length - 1);
     }
 
-    private static final int INSERTION_CUTOFF = 24;
+    static final int INSERTION_CUTOFF = 24;
+
+    /**
+     * Cortes das folhas nas versões primitivas (quick, intro, 3-way, dual-pivot e blocos
+     * iniciais do merge), ordenadas por SmallSort. Ajustáveis por tipo com
+     * -Dsorting.cutoff.int / .long / .double; são lidos uma vez, na carga da classe.
+     */
+    static final int INSERTION_CUTOFF_INT    = cutoff("sorting.cutoff.int", 24);
+    static final int INSERTION_CUTOFF_LONG   = cutoff("sorting.cutoff.long", 24);
+    static final int INSERTION_CUTOFF_DOUBLE = cutoff("sorting.cutoff.double", 24);
+
+    private static int cutoff(String propriedade, int padrao) {
+        return Math.max(2, Integer.getInteger(propriedade, padrao));
+    }
 
-    private static <T extends Comparable<? super T>> void quick(T[] a, int lo, int hi) {
+    static <T extends Comparable<? super T>> void quick(T[] a, int lo, int hi) {
+        Metricas.entrar();
         while (hi - lo + 1 > INSERTION_CUTOFF) {
-            int m = medianOf3(a, lo, lo + ((hi - lo) >>> 1), hi);
-            T pivot = a[m];
-            int i = lo - 1, j = hi + 1;
-            while (true) {
-                do { i++; } while (a[i].compareTo(pivot) < 0);
-                do { j--; } while (a[j].compareTo(pivot) > 0);
-                if (i >= j) break;
-                swap(a, i, j);
-            }
+            int j = hoarePartition(a, lo, hi);
             if (j - lo < hi - (j + 1)) {
                 quick(a, lo, j);
                 lo = j + 1;
@@ -174,31 +201,1416 @@ public final class Ordenadores {
             }
         }
         insertionRange(a, lo, hi);
+        Metricas.sair();
+    }
+
+    /**
+     * Partição de Hoare com pivô mediana-de-três em a[lo..hi].
+     * Devolve j tal que a[lo..j] <= pivô <= a[j+1..hi] (ambas as faixas não vazias).
+     */
+    static <T extends Comparable<? super T>> int hoarePartition(T[] a, int lo, int hi) {
+        int m = medianOf3(a, lo, lo + ((hi - lo) >>> 1), hi);
+        T pivot = a[m];
+        int i = lo - 1, j = hi + 1;
+        while (true) {
+            do { i++; } while (Metricas.cmp(a[i].compareTo(pivot) < 0));
+            do { j--; } while (Metricas.cmp(a[j].compareTo(pivot) > 0));
+            if (i >= j) return j;
+            swap(a, i, j);
+        }
     }
 
-    private static <T extends Comparable<? super T>> int medianOf3(T[] a, int i, int j, int k) {
-        if (a[i].compareTo(a[j]) > 0) { int t=i; i=j; j=t; }
-        if (a[j].compareTo(a[k]) > 0) { int t=j; j=k; k=t; }
-        if (a[i].compareTo(a[j]) > 0) { int t=i; i=j; j=t; }
+    static <T extends Comparable<? super T>> int medianOf3(T[] a, int i, int j, int k) {
+        if (Metricas.cmp(a[i].compareTo(a[j]) > 0)) { int t=i; i=j; j=t; }
+        if (Metricas.cmp(a[j].compareTo(a[k]) > 0)) { int t=j; j=k; k=t; }
+        if (Metricas.cmp(a[i].compareTo(a[j]) > 0)) { int t=i; i=j; j=t; }
         return j;
     }
 
-    private static <T extends Comparable<? super T>> void insertionRange(T[] a, int lo, int hi) {
+    static <T extends Comparable<? super T>> void insertionRange(T[] a, int lo, int hi) {
         for (int i = lo + 1; i <= hi; i++) {
             T key = a[i];
             int j = i - 1;
-            while (j >= lo && a[j].compareTo(key) > 0) {
+            while (j >= lo && Metricas.cmp(a[j].compareTo(key) > 0)) {
                 a[j + 1] = a[j];
                 j--;
+                Metricas.movimento();
             }
             a[j + 1] = key;
+            Metricas.movimento();
+        }
+    }
+
+    // ---------- Introsort (quick + limite de profundidade -> heap) ----------
+    /**
+     * Quick sort introspectivo: mesma partição de quickSort, mas conta a profundidade da
+     * recursão e, passando de 2*log2(n), ordena a faixa com heapRange. Pior caso O(n log n).
+     */
+    public static <T extends Comparable<? super T>> void introSort(T[] a) {
+        if (a == null || a.length < 2) return;
+        intro(a, 0, a.length - 1, depthLimit(a.length));
+    }
+
+    static <T extends Comparable<? super T>> void intro(T[] a, int lo, int hi, int depth) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                heapRange(a, lo, hi);
+                Metricas.sair();
+                return;
+            }
+            int j = hoarePartition(a, lo, hi);
+            if (j - lo < hi - (j + 1)) {
+                intro(a, lo, j, depth);
+                lo = j + 1;
+            } else {
+                intro(a, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionRange(a, lo, hi);
+        Metricas.sair();
+    }
+
+    /** 2 * floor(log2(n)). */
+    static int depthLimit(int n) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(n));
+    }
+
+    // ---------- Quick sort 3-way (Bentley-McIlroy) ----------
+    /**
+     * Quick sort com partição em três vias: as chaves iguais ao pivô são juntadas nas pontas
+     * durante a varredura e depois trazidas para o meio, ficando fora das recursões.
+     * Pivô por mediana-de-três (ninther em faixas grandes) e mesmo cutoff de quickSort;
+     * ótimo para muitas duplicatas.
+     */
+    public static <T extends Comparable<? super T>> void quickSort3Way(T[] a) {
+        if (a == null || a.length < 2) return;
+        quick3(a, 0, a.length - 1);
+    }
+
+    static <T extends Comparable<? super T>> void quick3(T[] a, int lo, int hi) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF) {
+            swap(a, lo, pivot3Way(a, lo, hi));
+            T v = a[lo];
+            int i = lo, j = hi + 1;
+            int p = lo, q = hi + 1;
+            // invariante: a[lo..p] == v, a[p+1..i] < v, a[j..q-1] > v, a[q..hi] == v
+            while (true) {
+                while (Metricas.cmp(a[++i].compareTo(v) < 0)) if (i == hi) break;
+                while (Metricas.cmp(v.compareTo(a[--j]) < 0)) if (j == lo) break;
+                if (i == j && Metricas.cmp(a[i].compareTo(v) == 0)) swap(a, ++p, i);
+                if (i >= j) break;
+                swap(a, i, j);
+                if (Metricas.cmp(a[i].compareTo(v) == 0)) swap(a, ++p, i);
+                if (Metricas.cmp(a[j].compareTo(v) == 0)) swap(a, --q, j);
+            }
+            // traz os iguais das pontas para o centro
+            i = j + 1;
+            for (int k = lo; k <= p; k++) swap(a, k, j--);
+            for (int k = hi; k >= q; k--) swap(a, k, i++);
+            // agora a[lo..j] < v, a[j+1..i-1] == v, a[i..hi] > v
+            if (j - lo < hi - i) {
+                quick3(a, lo, j);
+                lo = i;
+            } else {
+                quick3(a, i, hi);
+                hi = j;
+            }
+        }
+        insertionRange(a, lo, hi);
+        Metricas.sair();
+    }
+
+    /** Mediana-de-três; acima de 40 elementos, pseudomediana de nove (ninther), como no artigo. */
+    private static <T extends Comparable<? super T>> int pivot3Way(T[] a, int lo, int hi) {
+        int m = lo + ((hi - lo) >>> 1);
+        if (hi - lo + 1 <= 40) return medianOf3(a, lo, m, hi);
+        int s = (hi - lo + 1) >>> 3;
+        return medianOf3(a, medianOf3(a, lo, lo + s, lo + 2 * s),
+                            medianOf3(a, m - s, m, m + s),
+                            medianOf3(a, hi - 2 * s, hi - s, hi));
+    }
+
+    // ---------- Quick sort dual-pivot (Yaroslavskiy) ----------
+    /**
+     * Quick sort com dois pivôs p <= q (tercis da faixa), particionando em
+     * [< p] [p..q] [> q] numa única varredura. Se p == q o meio é todo igual ao pivô e
+     * não precisa de recursão; se o meio ficou grande, as chaves == p e == q saem dele
+     * antes de recursar (evita O(n²) com poucas chaves distintas).
+     * Recursão nas duas faixas menores, laço na maior.
+     */
+    public static <T extends Comparable<? super T>> void dualPivotQuickSort(T[] a) {
+        if (a == null || a.length < 2) return;
+        dualPivot(a, 0, a.length - 1);
+    }
+
+    static <T extends Comparable<? super T>> void dualPivot(T[] a, int lo, int hi) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF) {
+            int terco = (hi - lo) / 3;
+            int m1 = lo + terco, m2 = hi - terco;
+            if (Metricas.cmp(a[m1].compareTo(a[m2]) > 0)) swap(a, m1, m2);
+            swap(a, lo, m1);
+            swap(a, hi, m2);
+            T p = a[lo], q = a[hi];
+
+            int lt = lo + 1, gt = hi - 1;
+            for (int k = lt; k <= gt; k++) {
+                if (Metricas.cmp(a[k].compareTo(p) < 0)) {
+                    swap(a, k, lt++);
+                } else if (Metricas.cmp(a[k].compareTo(q) > 0)) {
+                    while (k < gt && Metricas.cmp(a[gt].compareTo(q) > 0)) gt--;
+                    swap(a, k, gt--);
+                    if (Metricas.cmp(a[k].compareTo(p) < 0)) swap(a, k, lt++);
+                }
+            }
+            swap(a, lo, --lt);
+            swap(a, hi, ++gt);
+            // a[lo..lt-1] < p, a[lt] == p, a[lt+1..gt-1] em [p, q], a[gt] == q, a[gt+1..hi] > q
+            int cl = lt + 1, cg = gt - 1;
+            if (!Metricas.cmp(p.compareTo(q) < 0)) {
+                cg = cl - 1; // p == q: o centro todo é igual ao pivô
+            } else if (cg - cl > (hi - lo) >>> 1) {
+                // centro grande (muitas chaves iguais aos pivôs): tira os == p e == q do centro
+                for (int k = cl; k <= cg; k++) {
+                    if (Metricas.cmp(a[k].compareTo(p) == 0)) {
+                        swap(a, k, cl++);
+                    } else if (Metricas.cmp(a[k].compareTo(q) == 0)) {
+                        while (k < cg && Metricas.cmp(a[cg].compareTo(q) == 0)) cg--;
+                        swap(a, k, cg--);
+                        if (Metricas.cmp(a[k].compareTo(p) == 0)) swap(a, k, cl++);
+                    }
+                }
+            }
+            int esq = lt - lo, dir = hi - gt, centro = cg - cl + 1;
+            if (esq >= centro && esq >= dir) {
+                dualPivot(a, cl, cg);
+                dualPivot(a, gt + 1, hi);
+                hi = lt - 1;
+            } else if (dir >= centro) {
+                dualPivot(a, lo, lt - 1);
+                dualPivot(a, cl, cg);
+                lo = gt + 1;
+            } else {
+                dualPivot(a, lo, lt - 1);
+                dualPivot(a, gt + 1, hi);
+                lo = cl;
+                hi = cg;
+            }
         }
+        insertionRange(a, lo, hi);
+        Metricas.sair();
     }
 
     private static void swap(Object[] a, int i, int j) {
+        Metricas.troca();
         Object t = a[i]; a[i] = a[j]; a[j] = t;
     }
 
+    // ----------------------- VERSÕES COM COMPARATOR -----------------------
+    // Os mesmos sete algoritmos para objetos sem Comparable (ou para ordenar por outro campo):
+    // a ordem vem de um Comparator<? super T>, com a mesma estabilidade das versões acima.
+    // Ex.: Ordenadores.mergeSort(pedidos, Comparator.comparing(Pedido::cliente)).
+
+    public static <T> void bubbleSort(T[] a, Comparator<? super T> c) {
+        if (a == null || a.length < 2) return;
+        int n = a.length;
+        boolean swapped;
+        do {
+            swapped = false;
+            for (int i = 1; i < n; i++) {
+                if (c.compare(a[i - 1], a[i]) > 0) {
+                    swap(a, i - 1, i);
+                    swapped = true;
+                }
+            }
+            n--; // último já está na posição
+        } while (swapped);
+    }
+
+    public static <T> void insertionSort(T[] a, Comparator<? super T> c) {
+        if (a == null || a.length < 2) return;
+
+        for (int i = 1; i < a.length; i++) {
+            T chave = a[i];
+            int j = i - 1;
+            while (j >= 0 && c.compare(a[j], chave) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = chave;
+        }
+    }
+
+    public static <T> void selectionSort(T[] a, Comparator<? super T> c) {
+        if (a == null || a.length < 2) return;
+        int n = a.length;
+        for (int i = 0; i < n - 1; i++) {
+            int min = i;
+            for (int j = i + 1; j < n; j++) {
+                if (c.compare(a[j], a[min]) < 0) min = j;
+            }
+            if (min != i) swap(a, i, min);
+        }
+    }
+
+    // ---------- Shell sort (mesmos gaps de Ciura por padrão) ----------
+    public static <T> void shellSort(T[] a, Comparator<? super T> c) {
+        shellSort(a, c, ShellGaps.CIURA);
+    }
+
+    public static <T> void shellSort(T[] a, Comparator<? super T> c, ShellGaps seq) {
+        if (a == null || a.length < 2) return;
+        final int n = a.length;
+
+        for (int g = seq.quantosAbaixoDe(n) - 1; g >= 0; g--) {
+            int h = seq.gap(g);
+            for (int i = h; i < n; i++) {
+                T key = a[i];
+                int j = i;
+                while (j >= h && c.compare(a[j - h], key) > 0) {
+                    a[j] = a[j - h];
+                    j -= h;
+                }
+                a[j] = key;
+            }
+        }
+    }
+
+    // ---------- Heap sort ----------
+    public static <T> void heapSort(T[] a, Comparator<? super T> c) {
+        if (a == null || a.length < 2) return;
+        heapRange(a, 0, a.length - 1, c);
+    }
+
+    /** Heap sort de a[lo..hi] (inclusivo); a raiz do heap fica em 'lo'. */
+    private static <T> void heapRange(T[] a, int lo, int hi, Comparator<? super T> c) {
+        final int n = hi - lo + 1;
+
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n, c);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end, c);
+        }
+    }
+
+    /** siftDown com o heap deslocado: o nó i (relativo) está em a[base + i]. */
+    private static <T> void siftDown(T[] a, int base, int i, int heapSize, Comparator<? super T> c) {
+        while (true) {
+            int left = (i << 1) + 1;
+            if (left >= heapSize) break;
+            int right = left + 1;
+            int child = left;
+            if (right < heapSize && c.compare(a[base + right], a[base + left]) > 0) child = right;
+
+            if (c.compare(a[base + child], a[base + i]) > 0) {
+                swap(a, base + i, base + child);
+                i = child;
+            } else break;
+        }
+    }
+
+    // ---------- Merge sort (bottom-up, estável) ----------
+    public static <T> void mergeSort(T[] a, Comparator<? super T> c) {
+        if (a == null || a.length < 2) return;
+        mergeSortRange(a, a.clone(), 0, a.length, c); // clone = buffer
+    }
+
+    /** Merge bottom-up de a[lo, hi) usando buf[lo, hi) como área auxiliar; o resultado fica em 'a'. */
+    private static <T> void mergeSortRange(T[] a, T[] buf, int lo, int hi, Comparator<? super T> c) {
+        T[] src = a;
+        T[] dst = buf;
+
+        for (int width = 1; width < hi - lo; width <<= 1) {
+            for (int i = lo; i < hi; i += (width << 1)) {
+                int mid = Math.min(i + width, hi);
+                int end = Math.min(i + (width << 1), hi);
+                mergeRuns(src, dst, i, mid, end, c);
+            }
+            T[] tmp = src; src = dst; dst = tmp;
+        }
+        if (src != a) System.arraycopy(src, lo, a, lo, hi - lo);
+    }
+
+    private static <T> void mergeRuns(T[] src, T[] dst, int lo, int mid, int hi, Comparator<? super T> c) {
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            if (c.compare(src[i], src[j]) <= 0) dst[k++] = src[i++];
+            else                                 dst[k++] = src[j++];
+        }
+        while (i < mid) dst[k++] = src[i++];
+        while (j < hi)  dst[k++] = src[j++];
+    }
+
+    // ---------- Quick sort (mediana-de-três + Hoare + cutoff p/ inserção) ----------
+    public static <T> void quickSort(T[] a, Comparator<? super T> c) {
+        if (a == null || a.length < 2) return;
+        quick(a, 0, a.length - 1, c);
+    }
+
+    private static <T> void quick(T[] a, int lo, int hi, Comparator<? super T> c) {
+        while (hi - lo + 1 > INSERTION_CUTOFF) {
+            int j = hoarePartition(a, lo, hi, c);
+            if (j - lo < hi - (j + 1)) {
+                quick(a, lo, j, c);
+                lo = j + 1;
+            } else {
+                quick(a, j + 1, hi, c);
+                hi = j;
+            }
+        }
+        insertionRange(a, lo, hi, c);
+    }
+
+    private static <T> int hoarePartition(T[] a, int lo, int hi, Comparator<? super T> c) {
+        int m = medianOf3(a, lo, lo + ((hi - lo) >>> 1), hi, c);
+        T pivot = a[m];
+        int i = lo - 1, j = hi + 1;
+        while (true) {
+            do { i++; } while (c.compare(a[i], pivot) < 0);
+            do { j--; } while (c.compare(a[j], pivot) > 0);
+            if (i >= j) return j;
+            swap(a, i, j);
+        }
+    }
+
+    private static <T> int medianOf3(T[] a, int i, int j, int k, Comparator<? super T> c) {
+        if (c.compare(a[i], a[j]) > 0) { int t=i; i=j; j=t; }
+        if (c.compare(a[j], a[k]) > 0) { int t=j; j=k; k=t; }
+        if (c.compare(a[i], a[j]) > 0) { int t=i; i=j; j=t; }
+        return j;
+    }
+
+    private static <T> void insertionRange(T[] a, int lo, int hi, Comparator<? super T> c) {
+        for (int i = lo + 1; i <= hi; i++) {
+            T key = a[i];
+            int j = i - 1;
+            while (j >= lo && c.compare(a[j], key) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = key;
+        }
+    }
+
+
+    // ---------- Ordenação por chave primitiva extraída ----------
+    // Para ordenar objetos por um campo numérico: a chave é extraída UMA vez por elemento
+    // (n chamadas, em vez de ~2 por comparação), ordenada com o radix estável de
+    // KeyValueSort.argsort e a permutação é aplicada ao vetor. Estável; O(n) auxiliar.
+
+    public static <T> void sortByInt(T[] a, ToIntFunction<? super T> chave) {
+        if (a == null || a.length < 2) return;
+        int[] keys = new int[a.length];
+        for (int i = 0; i < a.length; i++) keys[i] = chave.applyAsInt(a[i]);
+        aplicarPermutacao(a, KeyValueSort.argsort(keys));
+    }
+
+    public static <T> void sortByLong(T[] a, ToLongFunction<? super T> chave) {
+        if (a == null || a.length < 2) return;
+        long[] keys = new long[a.length];
+        for (int i = 0; i < a.length; i++) keys[i] = chave.applyAsLong(a[i]);
+        aplicarPermutacao(a, KeyValueSort.argsort(keys));
+    }
+
+    /** Ordem de Double.compare (-0.0 antes de 0.0, NaN no fim). */
+    public static <T> void sortByDouble(T[] a, ToDoubleFunction<? super T> chave) {
+        if (a == null || a.length < 2) return;
+        double[] keys = new double[a.length];
+        for (int i = 0; i < a.length; i++) keys[i] = chave.applyAsDouble(a[i]);
+        aplicarPermutacao(a, KeyValueSort.argsort(keys));
+    }
+
+    /** a[i] passa a ser o antigo a[perm[i]]. */
+    private static <T> void aplicarPermutacao(T[] a, int[] perm) {
+        T[] copia = a.clone();
+        for (int i = 0; i < a.length; i++) a[i] = copia[perm[i]];
+    }
+
+    // ----------------------- VERSÕES PRIMITIVAS (int[], long[], double[]) -----------------------
+    // Mesmos algoritmos (e mesma estabilidade) das versões genéricas acima, mas comparando
+    // primitivos direto com < e >: sem boxing, sem compareTo virtual, sem indireção de ponteiro.
+    // Para double[] vale a ordem numérica de < e > (NaN não é suportado).
+
+    // ---------- Versões int[] ----------
+
+    public static void bubbleSort(int[] a) {
+        if (a == null || a.length < 2) return;
+        int n = a.length;
+        boolean swapped;
+        do {
+            swapped = false;
+            for (int i = 1; i < n; i++) {
+                if (Metricas.cmp(a[i - 1] > a[i])) {
+                    swap(a, i - 1, i);
+                    swapped = true;
+                }
+            }
+            n--;
+        } while (swapped);
+    }
+
+    public static void insertionSort(int[] a) {
+        if (a == null || a.length < 2) return;
+        insertionRange(a, 0, a.length - 1);
+    }
+
+    public static void selectionSort(int[] a) {
+        if (a == null || a.length < 2) return;
+        int n = a.length;
+        for (int i = 0; i < n - 1; i++) {
+            int min = i;
+            for (int j = i + 1; j < n; j++) {
+                if (Metricas.cmp(a[j] < a[min])) min = j;
+            }
+            if (min != i) swap(a, i, min);
+        }
+    }
+
+    public static void shellSort(int[] a) {
+        shellSort(a, ShellGaps.CIURA);
+    }
+
+    public static void shellSort(int[] a, ShellGaps seq) {
+        if (a == null || a.length < 2) return;
+        final int n = a.length;
+
+        for (int g = seq.quantosAbaixoDe(n) - 1; g >= 0; g--) {
+            int h = seq.gap(g);
+            for (int i = h; i < n; i++) {
+                int key = a[i];
+                int j = i;
+                while (j >= h && Metricas.cmp(a[j - h] > key)) {
+                    a[j] = a[j - h];
+                    j -= h;
+                    Metricas.movimento();
+                }
+                a[j] = key;
+                Metricas.movimento();
+            }
+        }
+    }
+
+    public static void heapSort(int[] a) {
+        if (a == null || a.length < 2) return;
+        heapRange(a, 0, a.length - 1);
+    }
+
+    static void heapRange(int[] a, int lo, int hi) {
+        final int n = hi - lo + 1;
+
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] a, int base, int i, int heapSize) {
+        while (true) {
+            int left = (i << 1) + 1;
+            if (left >= heapSize) break;
+            int right = left + 1;
+            int child = left;
+            if (right < heapSize && Metricas.cmp(a[base + right] > a[base + left])) child = right;
+
+            if (Metricas.cmp(a[base + child] > a[base + i])) {
+                swap(a, base + i, base + child);
+                i = child;
+            } else break;
+        }
+    }
+
+    public static void mergeSort(int[] a) {
+        if (a == null || a.length < 2) return;
+        Metricas.alocacao((long) a.length * Integer.BYTES);
+        mergeSortRange(a, a.clone(), 0, a.length);
+    }
+
+    public static void mergeSort(int[] a, Workspace ws) {
+        if (a == null || a.length < 2) return;
+        mergeSortRange(a, ws.intBuffer(a.length), 0, a.length);
+    }
+
+    static void mergeSortRange(int[] a, int[] buf, int lo, int hi) {
+        for (int i = lo; i < hi; i += INSERTION_CUTOFF_INT) {
+            SmallSort.sort(a, i, Math.min(i + INSERTION_CUTOFF_INT, hi) - 1);
+        }
+        int[] src = a;
+        int[] dst = buf;
+
+        for (int width = INSERTION_CUTOFF_INT; width < hi - lo; width <<= 1) {
+            for (int i = lo; i < hi; i += (width << 1)) {
+                int mid = Math.min(i + width, hi);
+                int end = Math.min(i + (width << 1), hi);
+                mergeRuns(src, dst, i, mid, end);
+            }
+            int[] tmp = src; src = dst; dst = tmp;
+        }
+        if (src != a) {
+            System.arraycopy(src, lo, a, lo, hi - lo);
+            Metricas.movimentos(hi - lo);
+        }
+    }
+
+    private static void mergeRuns(int[] src, int[] dst, int lo, int mid, int hi) {
+        Metricas.movimentos(hi - lo);
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            if (Metricas.cmp(src[i] <= src[j])) dst[k++] = src[i++];
+            else                  dst[k++] = src[j++];
+        }
+        while (i < mid) dst[k++] = src[i++];
+        while (j < hi)  dst[k++] = src[j++];
+    }
+
+    public static void quickSort(int[] a) {
+        if (a == null || a.length < 2) return;
+        quick(a, 0, a.length - 1);
+    }
+
+    static void quick(int[] a, int lo, int hi) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF_INT) {
+            int j = hoarePartition(a, lo, hi);
+            if (j - lo < hi - (j + 1)) {
+                quick(a, lo, j);
+                lo = j + 1;
+            } else {
+                quick(a, j + 1, hi);
+                hi = j;
+            }
+        }
+        SmallSort.sort(a, lo, hi);
+        Metricas.sair();
+    }
+
+    public static void introSort(int[] a) {
+        if (a == null || a.length < 2) return;
+        intro(a, 0, a.length - 1, depthLimit(a.length));
+    }
+
+    static void intro(int[] a, int lo, int hi, int depth) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF_INT) {
+            if (depth-- == 0) {
+                heapRange(a, lo, hi);
+                Metricas.sair();
+                return;
+            }
+            int j = hoarePartition(a, lo, hi);
+            if (j - lo < hi - (j + 1)) {
+                intro(a, lo, j, depth);
+                lo = j + 1;
+            } else {
+                intro(a, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        SmallSort.sort(a, lo, hi);
+        Metricas.sair();
+    }
+
+    public static void quickSort3Way(int[] a) {
+        if (a == null || a.length < 2) return;
+        quick3(a, 0, a.length - 1);
+    }
+
+    static void quick3(int[] a, int lo, int hi) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF_INT) {
+            swap(a, lo, pivot3Way(a, lo, hi));
+            int v = a[lo];
+            int i = lo, j = hi + 1;
+            int p = lo, q = hi + 1;
+            while (true) {
+                while (Metricas.cmp(a[++i] < v)) if (i == hi) break;
+                while (Metricas.cmp(v < a[--j])) if (j == lo) break;
+                if (i == j && Metricas.cmp(a[i] == v)) swap(a, ++p, i);
+                if (i >= j) break;
+                swap(a, i, j);
+                if (Metricas.cmp(a[i] == v)) swap(a, ++p, i);
+                if (Metricas.cmp(a[j] == v)) swap(a, --q, j);
+            }
+            i = j + 1;
+            for (int k = lo; k <= p; k++) swap(a, k, j--);
+            for (int k = hi; k >= q; k--) swap(a, k, i++);
+            if (j - lo < hi - i) {
+                quick3(a, lo, j);
+                lo = i;
+            } else {
+                quick3(a, i, hi);
+                hi = j;
+            }
+        }
+        SmallSort.sort(a, lo, hi);
+        Metricas.sair();
+    }
+
+    private static int pivot3Way(int[] a, int lo, int hi) {
+        int m = lo + ((hi - lo) >>> 1);
+        if (hi - lo + 1 <= 40) return medianOf3(a, lo, m, hi);
+        int s = (hi - lo + 1) >>> 3;
+        return medianOf3(a, medianOf3(a, lo, lo + s, lo + 2 * s),
+                            medianOf3(a, m - s, m, m + s),
+                            medianOf3(a, hi - 2 * s, hi - s, hi));
+    }
+
+    public static void dualPivotQuickSort(int[] a) {
+        if (a == null || a.length < 2) return;
+        dualPivot(a, 0, a.length - 1);
+    }
+
+    static void dualPivot(int[] a, int lo, int hi) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF_INT) {
+            int terco = (hi - lo) / 3;
+            int m1 = lo + terco, m2 = hi - terco;
+            if (Metricas.cmp(a[m1] > a[m2])) swap(a, m1, m2);
+            swap(a, lo, m1);
+            swap(a, hi, m2);
+            int p = a[lo], q = a[hi];
+
+            int lt = lo + 1, gt = hi - 1;
+            for (int k = lt; k <= gt; k++) {
+                if (Metricas.cmp(a[k] < p)) {
+                    swap(a, k, lt++);
+                } else if (Metricas.cmp(a[k] > q)) {
+                    while (k < gt && Metricas.cmp(a[gt] > q)) gt--;
+                    swap(a, k, gt--);
+                    if (Metricas.cmp(a[k] < p)) swap(a, k, lt++);
+                }
+            }
+            swap(a, lo, --lt);
+            swap(a, hi, ++gt);
+            int cl = lt + 1, cg = gt - 1;
+            if (!Metricas.cmp(p < q)) {
+                cg = cl - 1; // p == q: o centro todo é igual ao pivô
+            } else if (cg - cl > (hi - lo) >>> 1) {
+                for (int k = cl; k <= cg; k++) {
+                    if (Metricas.cmp(a[k] == p)) {
+                        swap(a, k, cl++);
+                    } else if (Metricas.cmp(a[k] == q)) {
+                        while (k < cg && Metricas.cmp(a[cg] == q)) cg--;
+                        swap(a, k, cg--);
+                        if (Metricas.cmp(a[k] == p)) swap(a, k, cl++);
+                    }
+                }
+            }
+            int esq = lt - lo, dir = hi - gt, centro = cg - cl + 1;
+            if (esq >= centro && esq >= dir) {
+                dualPivot(a, cl, cg);
+                dualPivot(a, gt + 1, hi);
+                hi = lt - 1;
+            } else if (dir >= centro) {
+                dualPivot(a, lo, lt - 1);
+                dualPivot(a, cl, cg);
+                lo = gt + 1;
+            } else {
+                dualPivot(a, lo, lt - 1);
+                dualPivot(a, gt + 1, hi);
+                lo = cl;
+                hi = cg;
+            }
+        }
+        SmallSort.sort(a, lo, hi);
+        Metricas.sair();
+    }
+
+    static int hoarePartition(int[] a, int lo, int hi) {
+        int m = medianOf3(a, lo, lo + ((hi - lo) >>> 1), hi);
+        int pivot = a[m];
+        int i = lo - 1, j = hi + 1;
+        while (true) {
+            do { i++; } while (Metricas.cmp(a[i] < pivot));
+            do { j--; } while (Metricas.cmp(a[j] > pivot));
+            if (i >= j) return j;
+            swap(a, i, j);
+        }
+    }
+
+    static int medianOf3(int[] a, int i, int j, int k) {
+        if (Metricas.cmp(a[i] > a[j])) { int t=i; i=j; j=t; }
+        if (Metricas.cmp(a[j] > a[k])) { int t=j; j=k; k=t; }
+        if (Metricas.cmp(a[i] > a[j])) { int t=i; i=j; j=t; }
+        return j;
+    }
+
+    static void insertionRange(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int key = a[i];
+            int j = i - 1;
+            while (j >= lo && Metricas.cmp(a[j] > key)) {
+                a[j + 1] = a[j];
+                j--;
+                Metricas.movimento();
+            }
+            a[j + 1] = key;
+            Metricas.movimento();
+        }
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        Metricas.troca();
+        int t = a[i]; a[i] = a[j]; a[j] = t;
+    }
+
+    // ---------- Versões long[] ----------
+
+    public static void bubbleSort(long[] a) {
+        if (a == null || a.length < 2) return;
+        int n = a.length;
+        boolean swapped;
+        do {
+            swapped = false;
+            for (int i = 1; i < n; i++) {
+                if (Metricas.cmp(a[i - 1] > a[i])) {
+                    swap(a, i - 1, i);
+                    swapped = true;
+                }
+            }
+            n--;
+        } while (swapped);
+    }
+
+    public static void insertionSort(long[] a) {
+        if (a == null || a.length < 2) return;
+        insertionRange(a, 0, a.length - 1);
+    }
+
+    public static void selectionSort(long[] a) {
+        if (a == null || a.length < 2) return;
+        int n = a.length;
+        for (int i = 0; i < n - 1; i++) {
+            int min = i;
+            for (int j = i + 1; j < n; j++) {
+                if (Metricas.cmp(a[j] < a[min])) min = j;
+            }
+            if (min != i) swap(a, i, min);
+        }
+    }
+
+    public static void shellSort(long[] a) {
+        shellSort(a, ShellGaps.CIURA);
+    }
+
+    public static void shellSort(long[] a, ShellGaps seq) {
+        if (a == null || a.length < 2) return;
+        final int n = a.length;
+
+        for (int g = seq.quantosAbaixoDe(n) - 1; g >= 0; g--) {
+            int h = seq.gap(g);
+            for (int i = h; i < n; i++) {
+                long key = a[i];
+                int j = i;
+                while (j >= h && Metricas.cmp(a[j - h] > key)) {
+                    a[j] = a[j - h];
+                    j -= h;
+                    Metricas.movimento();
+                }
+                a[j] = key;
+                Metricas.movimento();
+            }
+        }
+    }
+
+    public static void heapSort(long[] a) {
+        if (a == null || a.length < 2) return;
+        heapRange(a, 0, a.length - 1);
+    }
+
+    static void heapRange(long[] a, int lo, int hi) {
+        final int n = hi - lo + 1;
+
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] a, int base, int i, int heapSize) {
+        while (true) {
+            int left = (i << 1) + 1;
+            if (left >= heapSize) break;
+            int right = left + 1;
+            int child = left;
+            if (right < heapSize && Metricas.cmp(a[base + right] > a[base + left])) child = right;
+
+            if (Metricas.cmp(a[base + child] > a[base + i])) {
+                swap(a, base + i, base + child);
+                i = child;
+            } else break;
+        }
+    }
+
+    public static void mergeSort(long[] a) {
+        if (a == null || a.length < 2) return;
+        Metricas.alocacao((long) a.length * Long.BYTES);
+        mergeSortRange(a, a.clone(), 0, a.length);
+    }
+
+    public static void mergeSort(long[] a, Workspace ws) {
+        if (a == null || a.length < 2) return;
+        mergeSortRange(a, ws.longBuffer(a.length), 0, a.length);
+    }
+
+    static void mergeSortRange(long[] a, long[] buf, int lo, int hi) {
+        for (int i = lo; i < hi; i += INSERTION_CUTOFF_LONG) {
+            SmallSort.sort(a, i, Math.min(i + INSERTION_CUTOFF_LONG, hi) - 1);
+        }
+        long[] src = a;
+        long[] dst = buf;
+
+        for (int width = INSERTION_CUTOFF_LONG; width < hi - lo; width <<= 1) {
+            for (int i = lo; i < hi; i += (width << 1)) {
+                int mid = Math.min(i + width, hi);
+                int end = Math.min(i + (width << 1), hi);
+                mergeRuns(src, dst, i, mid, end);
+            }
+            long[] tmp = src; src = dst; dst = tmp;
+        }
+        if (src != a) {
+            System.arraycopy(src, lo, a, lo, hi - lo);
+            Metricas.movimentos(hi - lo);
+        }
+    }
+
+    private static void mergeRuns(long[] src, long[] dst, int lo, int mid, int hi) {
+        Metricas.movimentos(hi - lo);
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            if (Metricas.cmp(src[i] <= src[j])) dst[k++] = src[i++];
+            else                  dst[k++] = src[j++];
+        }
+        while (i < mid) dst[k++] = src[i++];
+        while (j < hi)  dst[k++] = src[j++];
+    }
+
+    public static void quickSort(long[] a) {
+        if (a == null || a.length < 2) return;
+        quick(a, 0, a.length - 1);
+    }
+
+    static void quick(long[] a, int lo, int hi) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF_LONG) {
+            int j = hoarePartition(a, lo, hi);
+            if (j - lo < hi - (j + 1)) {
+                quick(a, lo, j);
+                lo = j + 1;
+            } else {
+                quick(a, j + 1, hi);
+                hi = j;
+            }
+        }
+        SmallSort.sort(a, lo, hi);
+        Metricas.sair();
+    }
+
+    public static void introSort(long[] a) {
+        if (a == null || a.length < 2) return;
+        intro(a, 0, a.length - 1, depthLimit(a.length));
+    }
+
+    static void intro(long[] a, int lo, int hi, int depth) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF_LONG) {
+            if (depth-- == 0) {
+                heapRange(a, lo, hi);
+                Metricas.sair();
+                return;
+            }
+            int j = hoarePartition(a, lo, hi);
+            if (j - lo < hi - (j + 1)) {
+                intro(a, lo, j, depth);
+                lo = j + 1;
+            } else {
+                intro(a, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        SmallSort.sort(a, lo, hi);
+        Metricas.sair();
+    }
+
+    public static void quickSort3Way(long[] a) {
+        if (a == null || a.length < 2) return;
+        quick3(a, 0, a.length - 1);
+    }
+
+    static void quick3(long[] a, int lo, int hi) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF_LONG) {
+            swap(a, lo, pivot3Way(a, lo, hi));
+            long v = a[lo];
+            int i = lo, j = hi + 1;
+            int p = lo, q = hi + 1;
+            while (true) {
+                while (Metricas.cmp(a[++i] < v)) if (i == hi) break;
+                while (Metricas.cmp(v < a[--j])) if (j == lo) break;
+                if (i == j && Metricas.cmp(a[i] == v)) swap(a, ++p, i);
+                if (i >= j) break;
+                swap(a, i, j);
+                if (Metricas.cmp(a[i] == v)) swap(a, ++p, i);
+                if (Metricas.cmp(a[j] == v)) swap(a, --q, j);
+            }
+            i = j + 1;
+            for (int k = lo; k <= p; k++) swap(a, k, j--);
+            for (int k = hi; k >= q; k--) swap(a, k, i++);
+            if (j - lo < hi - i) {
+                quick3(a, lo, j);
+                lo = i;
+            } else {
+                quick3(a, i, hi);
+                hi = j;
+            }
+        }
+        SmallSort.sort(a, lo, hi);
+        Metricas.sair();
+    }
+
+    private static int pivot3Way(long[] a, int lo, int hi) {
+        int m = lo + ((hi - lo) >>> 1);
+        if (hi - lo + 1 <= 40) return medianOf3(a, lo, m, hi);
+        int s = (hi - lo + 1) >>> 3;
+        return medianOf3(a, medianOf3(a, lo, lo + s, lo + 2 * s),
+                            medianOf3(a, m - s, m, m + s),
+                            medianOf3(a, hi - 2 * s, hi - s, hi));
+    }
+
+    public static void dualPivotQuickSort(long[] a) {
+        if (a == null || a.length < 2) return;
+        dualPivot(a, 0, a.length - 1);
+    }
+
+    static void dualPivot(long[] a, int lo, int hi) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF_LONG) {
+            int terco = (hi - lo) / 3;
+            int m1 = lo + terco, m2 = hi - terco;
+            if (Metricas.cmp(a[m1] > a[m2])) swap(a, m1, m2);
+            swap(a, lo, m1);
+            swap(a, hi, m2);
+            long p = a[lo], q = a[hi];
+
+            int lt = lo + 1, gt = hi - 1;
+            for (int k = lt; k <= gt; k++) {
+                if (Metricas.cmp(a[k] < p)) {
+                    swap(a, k, lt++);
+                } else if (Metricas.cmp(a[k] > q)) {
+                    while (k < gt && Metricas.cmp(a[gt] > q)) gt--;
+                    swap(a, k, gt--);
+                    if (Metricas.cmp(a[k] < p)) swap(a, k, lt++);
+                }
+            }
+            swap(a, lo, --lt);
+            swap(a, hi, ++gt);
+            int cl = lt + 1, cg = gt - 1;
+            if (!Metricas.cmp(p < q)) {
+                cg = cl - 1; // p == q: o centro todo é igual ao pivô
+            } else if (cg - cl > (hi - lo) >>> 1) {
+                for (int k = cl; k <= cg; k++) {
+                    if (Metricas.cmp(a[k] == p)) {
+                        swap(a, k, cl++);
+                    } else if (Metricas.cmp(a[k] == q)) {
+                        while (k < cg && Metricas.cmp(a[cg] == q)) cg--;
+                        swap(a, k, cg--);
+                        if (Metricas.cmp(a[k] == p)) swap(a, k, cl++);
+                    }
+                }
+            }
+            int esq = lt - lo, dir = hi - gt, centro = cg - cl + 1;
+            if (esq >= centro && esq >= dir) {
+                dualPivot(a, cl, cg);
+                dualPivot(a, gt + 1, hi);
+                hi = lt - 1;
+            } else if (dir >= centro) {
+                dualPivot(a, lo, lt - 1);
+                dualPivot(a, cl, cg);
+                lo = gt + 1;
+            } else {
+                dualPivot(a, lo, lt - 1);
+                dualPivot(a, gt + 1, hi);
+                lo = cl;
+                hi = cg;
+            }
+        }
+        SmallSort.sort(a, lo, hi);
+        Metricas.sair();
+    }
+
+    static int hoarePartition(long[] a, int lo, int hi) {
+        int m = medianOf3(a, lo, lo + ((hi - lo) >>> 1), hi);
+        long pivot = a[m];
+        int i = lo - 1, j = hi + 1;
+        while (true) {
+            do { i++; } while (Metricas.cmp(a[i] < pivot));
+            do { j--; } while (Metricas.cmp(a[j] > pivot));
+            if (i >= j) return j;
+            swap(a, i, j);
+        }
+    }
+
+    static int medianOf3(long[] a, int i, int j, int k) {
+        if (Metricas.cmp(a[i] > a[j])) { int t=i; i=j; j=t; }
+        if (Metricas.cmp(a[j] > a[k])) { int t=j; j=k; k=t; }
+        if (Metricas.cmp(a[i] > a[j])) { int t=i; i=j; j=t; }
+        return j;
+    }
+
+    static void insertionRange(long[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            long key = a[i];
+            int j = i - 1;
+            while (j >= lo && Metricas.cmp(a[j] > key)) {
+                a[j + 1] = a[j];
+                j--;
+                Metricas.movimento();
+            }
+            a[j + 1] = key;
+            Metricas.movimento();
+        }
+    }
+
+    private static void swap(long[] a, int i, int j) {
+        Metricas.troca();
+        long t = a[i]; a[i] = a[j]; a[j] = t;
+    }
+
+    // ---------- Versões double[] ----------
+
+    public static void bubbleSort(double[] a) {
+        if (a == null || a.length < 2) return;
+        int n = a.length;
+        boolean swapped;
+        do {
+            swapped = false;
+            for (int i = 1; i < n; i++) {
+                if (Metricas.cmp(a[i - 1] > a[i])) {
+                    swap(a, i - 1, i);
+                    swapped = true;
+                }
+            }
+            n--;
+        } while (swapped);
+    }
+
+    public static void insertionSort(double[] a) {
+        if (a == null || a.length < 2) return;
+        insertionRange(a, 0, a.length - 1);
+    }
+
+    public static void selectionSort(double[] a) {
+        if (a == null || a.length < 2) return;
+        int n = a.length;
+        for (int i = 0; i < n - 1; i++) {
+            int min = i;
+            for (int j = i + 1; j < n; j++) {
+                if (Metricas.cmp(a[j] < a[min])) min = j;
+            }
+            if (min != i) swap(a, i, min);
+        }
+    }
+
+    public static void shellSort(double[] a) {
+        shellSort(a, ShellGaps.CIURA);
+    }
+
+    public static void shellSort(double[] a, ShellGaps seq) {
+        if (a == null || a.length < 2) return;
+        final int n = a.length;
+
+        for (int g = seq.quantosAbaixoDe(n) - 1; g >= 0; g--) {
+            int h = seq.gap(g);
+            for (int i = h; i < n; i++) {
+                double key = a[i];
+                int j = i;
+                while (j >= h && Metricas.cmp(a[j - h] > key)) {
+                    a[j] = a[j - h];
+                    j -= h;
+                    Metricas.movimento();
+                }
+                a[j] = key;
+                Metricas.movimento();
+            }
+        }
+    }
+
+    public static void heapSort(double[] a) {
+        if (a == null || a.length < 2) return;
+        heapRange(a, 0, a.length - 1);
+    }
+
+    static void heapRange(double[] a, int lo, int hi) {
+        final int n = hi - lo + 1;
+
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] a, int base, int i, int heapSize) {
+        while (true) {
+            int left = (i << 1) + 1;
+            if (left >= heapSize) break;
+            int right = left + 1;
+            int child = left;
+            if (right < heapSize && Metricas.cmp(a[base + right] > a[base + left])) child = right;
+
+            if (Metricas.cmp(a[base + child] > a[base + i])) {
+                swap(a, base + i, base + child);
+                i = child;
+            } else break;
+        }
+    }
+
+    public static void mergeSort(double[] a) {
+        if (a == null || a.length < 2) return;
+        Metricas.alocacao((long) a.length * Double.BYTES);
+        mergeSortRange(a, a.clone(), 0, a.length);
+    }
+
+    public static void mergeSort(double[] a, Workspace ws) {
+        if (a == null || a.length < 2) return;
+        mergeSortRange(a, ws.doubleBuffer(a.length), 0, a.length);
+    }
+
+    static void mergeSortRange(double[] a, double[] buf, int lo, int hi) {
+        for (int i = lo; i < hi; i += INSERTION_CUTOFF_DOUBLE) {
+            SmallSort.sort(a, i, Math.min(i + INSERTION_CUTOFF_DOUBLE, hi) - 1);
+        }
+        double[] src = a;
+        double[] dst = buf;
+
+        for (int width = INSERTION_CUTOFF_DOUBLE; width < hi - lo; width <<= 1) {
+            for (int i = lo; i < hi; i += (width << 1)) {
+                int mid = Math.min(i + width, hi);
+                int end = Math.min(i + (width << 1), hi);
+                mergeRuns(src, dst, i, mid, end);
+            }
+            double[] tmp = src; src = dst; dst = tmp;
+        }
+        if (src != a) {
+            System.arraycopy(src, lo, a, lo, hi - lo);
+            Metricas.movimentos(hi - lo);
+        }
+    }
+
+    private static void mergeRuns(double[] src, double[] dst, int lo, int mid, int hi) {
+        Metricas.movimentos(hi - lo);
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            if (Metricas.cmp(src[i] <= src[j])) dst[k++] = src[i++];
+            else                  dst[k++] = src[j++];
+        }
+        while (i < mid) dst[k++] = src[i++];
+        while (j < hi)  dst[k++] = src[j++];
+    }
+
+    public static void quickSort(double[] a) {
+        if (a == null || a.length < 2) return;
+        quick(a, 0, a.length - 1);
+    }
+
+    static void quick(double[] a, int lo, int hi) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF_DOUBLE) {
+            int j = hoarePartition(a, lo, hi);
+            if (j - lo < hi - (j + 1)) {
+                quick(a, lo, j);
+                lo = j + 1;
+            } else {
+                quick(a, j + 1, hi);
+                hi = j;
+            }
+        }
+        SmallSort.sort(a, lo, hi);
+        Metricas.sair();
+    }
+
+    public static void introSort(double[] a) {
+        if (a == null || a.length < 2) return;
+        intro(a, 0, a.length - 1, depthLimit(a.length));
+    }
+
+    static void intro(double[] a, int lo, int hi, int depth) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF_DOUBLE) {
+            if (depth-- == 0) {
+                heapRange(a, lo, hi);
+                Metricas.sair();
+                return;
+            }
+            int j = hoarePartition(a, lo, hi);
+            if (j - lo < hi - (j + 1)) {
+                intro(a, lo, j, depth);
+                lo = j + 1;
+            } else {
+                intro(a, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        SmallSort.sort(a, lo, hi);
+        Metricas.sair();
+    }
+
+    public static void quickSort3Way(double[] a) {
+        if (a == null || a.length < 2) return;
+        quick3(a, 0, a.length - 1);
+    }
+
+    static void quick3(double[] a, int lo, int hi) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF_DOUBLE) {
+            swap(a, lo, pivot3Way(a, lo, hi));
+            double v = a[lo];
+            int i = lo, j = hi + 1;
+            int p = lo, q = hi + 1;
+            while (true) {
+                while (Metricas.cmp(a[++i] < v)) if (i == hi) break;
+                while (Metricas.cmp(v < a[--j])) if (j == lo) break;
+                if (i == j && Metricas.cmp(a[i] == v)) swap(a, ++p, i);
+                if (i >= j) break;
+                swap(a, i, j);
+                if (Metricas.cmp(a[i] == v)) swap(a, ++p, i);
+                if (Metricas.cmp(a[j] == v)) swap(a, --q, j);
+            }
+            i = j + 1;
+            for (int k = lo; k <= p; k++) swap(a, k, j--);
+            for (int k = hi; k >= q; k--) swap(a, k, i++);
+            if (j - lo < hi - i) {
+                quick3(a, lo, j);
+                lo = i;
+            } else {
+                quick3(a, i, hi);
+                hi = j;
+            }
+        }
+        SmallSort.sort(a, lo, hi);
+        Metricas.sair();
+    }
+
+    private static int pivot3Way(double[] a, int lo, int hi) {
+        int m = lo + ((hi - lo) >>> 1);
+        if (hi - lo + 1 <= 40) return medianOf3(a, lo, m, hi);
+        int s = (hi - lo + 1) >>> 3;
+        return medianOf3(a, medianOf3(a, lo, lo + s, lo + 2 * s),
+                            medianOf3(a, m - s, m, m + s),
+                            medianOf3(a, hi - 2 * s, hi - s, hi));
+    }
+
+    public static void dualPivotQuickSort(double[] a) {
+        if (a == null || a.length < 2) return;
+        dualPivot(a, 0, a.length - 1);
+    }
+
+    static void dualPivot(double[] a, int lo, int hi) {
+        Metricas.entrar();
+        while (hi - lo + 1 > INSERTION_CUTOFF_DOUBLE) {
+            int terco = (hi - lo) / 3;
+            int m1 = lo + terco, m2 = hi - terco;
+            if (Metricas.cmp(a[m1] > a[m2])) swap(a, m1, m2);
+            swap(a, lo, m1);
+            swap(a, hi, m2);
+            double p = a[lo], q = a[hi];
+
+            int lt = lo + 1, gt = hi - 1;
+            for (int k = lt; k <= gt; k++) {
+                if (Metricas.cmp(a[k] < p)) {
+                    swap(a, k, lt++);
+                } else if (Metricas.cmp(a[k] > q)) {
+                    while (k < gt && Metricas.cmp(a[gt] > q)) gt--;
+                    swap(a, k, gt--);
+                    if (Metricas.cmp(a[k] < p)) swap(a, k, lt++);
+                }
+            }
+            swap(a, lo, --lt);
+            swap(a, hi, ++gt);
+            int cl = lt + 1, cg = gt - 1;
+            if (!Metricas.cmp(p < q)) {
+                cg = cl - 1; // p == q: o centro todo é igual ao pivô
+            } else if (cg - cl > (hi - lo) >>> 1) {
+                for (int k = cl; k <= cg; k++) {
+                    if (Metricas.cmp(a[k] == p)) {
+                        swap(a, k, cl++);
+                    } else if (Metricas.cmp(a[k] == q)) {
+                        while (k < cg && Metricas.cmp(a[cg] == q)) cg--;
+                        swap(a, k, cg--);
+                        if (Metricas.cmp(a[k] == p)) swap(a, k, cl++);
+                    }
+                }
+            }
+            int esq = lt - lo, dir = hi - gt, centro = cg - cl + 1;
+            if (esq >= centro && esq >= dir) {
+                dualPivot(a, cl, cg);
+                dualPivot(a, gt + 1, hi);
+                hi = lt - 1;
+            } else if (dir >= centro) {
+                dualPivot(a, lo, lt - 1);
+                dualPivot(a, cl, cg);
+                lo = gt + 1;
+            } else {
+                dualPivot(a, lo, lt - 1);
+                dualPivot(a, gt + 1, hi);
+                lo = cl;
+                hi = cg;
+            }
+        }
+        SmallSort.sort(a, lo, hi);
+        Metricas.sair();
+    }
+
+    static int hoarePartition(double[] a, int lo, int hi) {
+        int m = medianOf3(a, lo, lo + ((hi - lo) >>> 1), hi);
+        double pivot = a[m];
+        int i = lo - 1, j = hi + 1;
+        while (true) {
+            do { i++; } while (Metricas.cmp(a[i] < pivot));
+            do { j--; } while (Metricas.cmp(a[j] > pivot));
+            if (i >= j) return j;
+            swap(a, i, j);
+        }
+    }
+
+    static int medianOf3(double[] a, int i, int j, int k) {
+        if (Metricas.cmp(a[i] > a[j])) { int t=i; i=j; j=t; }
+        if (Metricas.cmp(a[j] > a[k])) { int t=j; j=k; k=t; }
+        if (Metricas.cmp(a[i] > a[j])) { int t=i; i=j; j=t; }
+        return j;
+    }
+
+    static void insertionRange(double[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            double key = a[i];
+            int j = i - 1;
+            while (j >= lo && Metricas.cmp(a[j] > key)) {
+                a[j + 1] = a[j];
+                j--;
+                Metricas.movimento();
+            }
+            a[j + 1] = key;
+            Metricas.movimento();
+        }
+    }
+
+    private static void swap(double[] a, int i, int j) {
+        Metricas.troca();
+        double t = a[i]; a[i] = a[j]; a[j] = t;
+    }
+
     // ----------------------- DEMOS (passo-a-passo) -----------------------
 
     // Bubble: emite alguns swaps da varredura
@@ -272,11 +1684,10 @@ public final class Ordenadores {
         };
 
 
-        int[] gaps = ciuraGapsUpTo(n);
         if (!emit.apply(a, "início")) return;
 
-        for (int g = gaps.length - 1; g >= 0; g--) {
-            int h = gaps[g];
+        for (int g = ShellGaps.CIURA.quantosAbaixoDe(n) - 1; g >= 0; g--) {
+            int h = ShellGaps.CIURA.gap(g);
             if (!emit.apply(a, "gap h=" + h)) return;
 
             for (int i = h; i < n; i++) {
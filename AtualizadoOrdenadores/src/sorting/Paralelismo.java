@@ -0,0 +1,29 @@
+package sorting;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Utilitário interno dos ordenadores paralelos.
+ * As tarefas fork-join usam o pool corrente (ou o commonPool); quando o chamador pede um
+ * paralelismo explícito, criamos um ForkJoinPool próprio só para aquela ordenação.
+ */
+final class Paralelismo {
+    private Paralelismo() {}
+
+    /** Paralelismo do pool em que a thread atual roda (ou do commonPool, fora de um pool). */
+    static int paralelismoAtual() {
+        ForkJoinPool pool = ForkJoinTask.getPool();
+        return pool != null ? pool.getParallelism() : ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    /** Executa 'bloco' dentro de um ForkJoinPool com 'paralelismo' threads (mínimo 1). */
+    static void executar(int paralelismo, Runnable bloco) {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, paralelismo));
+        try {
+            pool.invoke(ForkJoinTask.adapt(bloco));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
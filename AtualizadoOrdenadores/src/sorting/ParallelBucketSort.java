@@ -0,0 +1,128 @@
+package sorting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bucket Sort paralelo (fork-join) sobre o mesmo layout plano de BucketSort.
+ * - Distribuição: um pedaço do vetor por thread, cada um com contagens locais por balde;
+ *   as contagens viram deslocamentos (balde, pedaço) e o scatter roda em paralelo, sem
+ *   contenção e estável.
+ * - Depois da distribuição os baldes são independentes: faixas de baldes são divididas
+ *   recursivamente em tarefas, e cada folha copia suas fatias de volta e ordena por inserção.
+ * - sort(...) usa o ForkJoinPool corrente (ou o commonPool); a sobrecarga com
+ *   'parallelism' cria um pool dedicado.
+ */
+public final class ParallelBucketSort {
+    private ParallelBucketSort() {}
+
+    /** Abaixo desse tamanho a distribuição é feita num pedaço só (sem tarefas). */
+    private static final int MIN_PEDACO = 1 << 15;
+    /** Quantidade de elementos a partir da qual uma faixa de baldes ainda é dividida. */
+    private static final int SORT_THRESHOLD = 1 << 13;
+
+    /** Ordena in-place, detectando min/max dos próprios dados. */
+    public static void sort(double[] valores, int numBuckets) {
+        if (valores == null || valores.length < 2) return;
+        double min = valores[0], max = valores[0];
+        for (double v : valores) {
+            if (v < min) min = v;
+            else if (v > max) max = v;
+        }
+        sort(valores, numBuckets, min, max);
+    }
+
+    public static void sort(double[] valores, int numBuckets, int parallelism) {
+        Paralelismo.executar(parallelism, () -> sort(valores, numBuckets));
+    }
+
+    public static void sort(double[] valores, int numBuckets, double minValor, double maxValor, int parallelism) {
+        Paralelismo.executar(parallelism, () -> sort(valores, numBuckets, minValor, maxValor));
+    }
+
+    /** Ordena in-place assumindo chaves em [minValor, maxValor] (fora dela: primeiro/último balde). */
+    public static void sort(double[] valores, int numBuckets, double minValor, double maxValor) {
+        if (valores == null || valores.length < 2) return;
+        if (numBuckets < 1) numBuckets = Math.max(1, valores.length / 2);
+        if (minValor > maxValor) { double t = minValor; minValor = maxValor; maxValor = t; }
+        if (!(maxValor > minValor)) numBuckets = 1;
+
+        final int n = valores.length;
+        final int nb = numBuckets;
+        final BucketSort.Faixa faixa = new BucketSort.Faixa(minValor, maxValor, nb);
+        final double[] aux = new double[n];
+
+        // 1) contagens locais por pedaço, em paralelo
+        final int pedacos = Math.max(1, Math.min(Paralelismo.paralelismoAtual(), n / MIN_PEDACO));
+        final int tamPedaco = (n + pedacos - 1) / pedacos;
+        final int[][] cont = new int[pedacos][nb];
+        List<ForkJoinTask<?>> tarefas = new ArrayList<>(pedacos);
+        for (int c = 0; c < pedacos; c++) {
+            final int[] h = cont[c];
+            final int lo = c * tamPedaco, hi = Math.min(n, lo + tamPedaco);
+            tarefas.add(ForkJoinTask.adapt(() -> {
+                for (int i = lo; i < hi; i++) h[faixa.indice(valores[i])]++;
+            }));
+        }
+        ForkJoinTask.invokeAll(tarefas);
+
+        // 2) início de cada balde; dentro dele, o deslocamento de cada pedaço
+        final int[] inicio = new int[nb + 1];
+        int soma = 0;
+        for (int b = 0; b < nb; b++) {
+            inicio[b] = soma;
+            for (int c = 0; c < pedacos; c++) {
+                int x = cont[c][b];
+                cont[c][b] = soma;
+                soma += x;
+            }
+        }
+        inicio[nb] = n;
+
+        // 3) scatter em paralelo
+        tarefas.clear();
+        for (int c = 0; c < pedacos; c++) {
+            final int[] pos = cont[c];
+            final int lo = c * tamPedaco, hi = Math.min(n, lo + tamPedaco);
+            tarefas.add(ForkJoinTask.adapt(() -> {
+                for (int i = lo; i < hi; i++) {
+                    double v = valores[i];
+                    aux[pos[faixa.indice(v)]++] = v;
+                }
+            }));
+        }
+        ForkJoinTask.invokeAll(tarefas);
+
+        // 4) baldes ordenados concorrentemente
+        new SortBuckets(valores, aux, inicio, 0, nb).invoke();
+    }
+
+    /** Copia os baldes [bLo, bHi) de aux para 'valores' e ordena cada um. */
+    @SuppressWarnings("serial")
+    private static final class SortBuckets extends RecursiveAction {
+        private final double[] valores, aux;
+        private final int[] inicio;
+        private final int bLo, bHi;
+
+        SortBuckets(double[] valores, double[] aux, int[] inicio, int bLo, int bHi) {
+            this.valores = valores; this.aux = aux; this.inicio = inicio; this.bLo = bLo; this.bHi = bHi;
+        }
+
+        @Override
+        protected void compute() {
+            if (bHi - bLo > 1 && inicio[bHi] - inicio[bLo] > SORT_THRESHOLD) {
+                int mid = (bLo + bHi) >>> 1;
+                invokeAll(new SortBuckets(valores, aux, inicio, bLo, mid),
+                          new SortBuckets(valores, aux, inicio, mid, bHi));
+                return;
+            }
+            int lo = inicio[bLo], hi = inicio[bHi];
+            System.arraycopy(aux, lo, valores, lo, hi - lo);
+            for (int b = bLo; b < bHi; b++) {
+                if (inicio[b + 1] - inicio[b] > 1) BucketSort.insertion(valores, inicio[b], inicio[b + 1]);
+            }
+        }
+    }
+}
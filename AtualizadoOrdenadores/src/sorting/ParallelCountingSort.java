@@ -0,0 +1,134 @@
+package sorting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Counting Sort paralelo (fork-join) para int[] em [min, max].
+ * As três passadas do sequencial viram fases paralelas:
+ * 1) contagem: cada thread conta o seu pedaço num histograma próprio (listrado por pedaço);
+ * 2) prefixo paralelo: a faixa de chaves é dividida em blocos; cada bloco soma seu total,
+ *    os totais são acumulados (poucos valores) e cada bloco transforma suas contagens em
+ *    deslocamentos (chave, pedaço) — pedaços anteriores vêm antes, então é estável;
+ * 3) scatter: cada thread copia o seu pedaço para as posições finais, e a cópia de volta
+ *    também é dividida por pedaço.
+ * Memória: K contadores por pedaço + um vetor do tamanho da entrada.
+ */
+public final class ParallelCountingSort {
+    private ParallelCountingSort() {}
+
+    /** Tamanho mínimo de cada pedaço; entradas menores usam menos threads. */
+    private static final int MIN_PEDACO = 1 << 15;
+
+    /** Ordena in-place detectando a faixa; faixas esparsas caem no CountingSort sequencial. */
+    public static void sort(int[] valores) {
+        if (valores == null || valores.length < 2) return;
+        int min = valores[0], max = valores[0];
+        for (int v : valores) {
+            if (v < min) min = v;
+            else if (v > max) max = v;
+        }
+        if (CountingSort.escolherCaminho(valores.length, min, max) == CountingSort.Caminho.DENSO) {
+            sort(valores, min, max);
+        } else {
+            CountingSort.sort(valores);
+        }
+    }
+
+    public static void sort(int[] valores, int parallelism) {
+        Paralelismo.executar(parallelism, () -> sort(valores));
+    }
+
+    public static void sort(int[] valores, int minValor, int maxValor, int parallelism) {
+        Paralelismo.executar(parallelism, () -> sort(valores, minValor, maxValor));
+    }
+
+    /** Ordena in-place assumindo domínio [minValor, maxValor] (INCLUSIVO), no pool corrente. */
+    public static void sort(int[] valores, int minValor, int maxValor) {
+        if (valores == null || valores.length < 2) return;
+        if (minValor > maxValor) { int t = minValor; minValor = maxValor; maxValor = t; }
+
+        final int n = valores.length;
+        final int min = minValor;
+        final int faixa = maxValor - minValor + 1;
+        final int pedacos = Math.max(1, Math.min(Paralelismo.paralelismoAtual(), n / MIN_PEDACO));
+        final int tamPedaco = (n + pedacos - 1) / pedacos;
+
+        // 1) histogramas por pedaço
+        final int[][] hist = new int[pedacos][];
+        List<ForkJoinTask<?>> tarefas = new ArrayList<>(pedacos);
+        for (int c = 0; c < pedacos; c++) {
+            final int id = c;
+            final int lo = c * tamPedaco, hi = Math.min(n, lo + tamPedaco);
+            tarefas.add(ForkJoinTask.adapt(() -> {
+                int[] h = new int[faixa]; // alocado (e zerado) pela própria thread
+                for (int i = lo; i < hi; i++) h[valores[i] - min]++;
+                hist[id] = h;
+            }));
+        }
+        ForkJoinTask.invokeAll(tarefas);
+
+        // 2) prefixo paralelo em blocos de chaves
+        final int blocos = Math.max(1, Math.min(pedacos, faixa));
+        final int tamBloco = (faixa + blocos - 1) / blocos;
+        final long[] totalBloco = new long[blocos];
+        tarefas.clear();
+        for (int b = 0; b < blocos; b++) {
+            final int id = b;
+            final int kLo = b * tamBloco, kHi = Math.min(faixa, kLo + tamBloco);
+            tarefas.add(ForkJoinTask.adapt(() -> {
+                long s = 0;
+                for (int[] h : hist) for (int k = kLo; k < kHi; k++) s += h[k];
+                totalBloco[id] = s;
+            }));
+        }
+        ForkJoinTask.invokeAll(tarefas);
+
+        long acumulado = 0;
+        for (int b = 0; b < blocos; b++) {
+            long t = totalBloco[b];
+            totalBloco[b] = acumulado;
+            acumulado += t;
+        }
+
+        tarefas.clear();
+        for (int b = 0; b < blocos; b++) {
+            final int id = b;
+            final int kLo = b * tamBloco, kHi = Math.min(faixa, kLo + tamBloco);
+            tarefas.add(ForkJoinTask.adapt(() -> {
+                int pos = (int) totalBloco[id];
+                for (int k = kLo; k < kHi; k++) {
+                    for (int[] h : hist) {
+                        int x = h[k];
+                        h[k] = pos;
+                        pos += x;
+                    }
+                }
+            }));
+        }
+        ForkJoinTask.invokeAll(tarefas);
+
+        // 3) scatter estável por pedaço e cópia de volta
+        final int[] ordenado = new int[n];
+        tarefas.clear();
+        for (int c = 0; c < pedacos; c++) {
+            final int[] pos = hist[c];
+            final int lo = c * tamPedaco, hi = Math.min(n, lo + tamPedaco);
+            tarefas.add(ForkJoinTask.adapt(() -> {
+                for (int i = lo; i < hi; i++) {
+                    int v = valores[i];
+                    ordenado[pos[v - min]++] = v;
+                }
+            }));
+        }
+        ForkJoinTask.invokeAll(tarefas);
+
+        tarefas.clear();
+        for (int c = 0; c < pedacos; c++) {
+            final int lo = c * tamPedaco, hi = Math.min(n, lo + tamPedaco);
+            tarefas.add(ForkJoinTask.adapt(() -> System.arraycopy(ordenado, lo, valores, lo, hi - lo)));
+        }
+        ForkJoinTask.invokeAll(tarefas);
+    }
+}
@@ -0,0 +1,418 @@
+package sorting;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Merge Sort paralelo (fork-join), estável.
+ * - Divide ao meio recursivamente; abaixo de 'threshold' elementos ordena a faixa
+ *   sequencialmente (merge bottom-up de Ordenadores).
+ * - O merge também é paralelo: corta a maior das duas metades ao meio e acha, por busca
+ *   binária, o ponto correspondente na outra, gerando dois merges independentes.
+ * - Alterna entre o vetor e um único buffer (ping-pong), sem cópias extras por nível.
+ * - Roda no ForkJoinPool corrente (ou no commonPool); as sobrecargas com 'parallelism'
+ *   criam um pool com esse número de threads.
+ */
+public final class ParallelMergeSort {
+    private ParallelMergeSort() {}
+
+    /** Tamanho abaixo do qual ordenação e merge rodam sequencialmente. */
+    public static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    // ---------- Versão genérica (Comparable) ----------
+
+    public static <T extends Comparable<? super T>> void sort(T[] a) {
+        sort(a, SEQUENTIAL_THRESHOLD);
+    }
+
+    public static <T extends Comparable<? super T>> void sort(T[] a, int threshold) {
+        if (a == null || a.length < 2) return;
+        Metricas.alocacao((long) a.length * 4); // referências contadas como 4 bytes
+        new SortTask<>(a, a.clone(), 0, a.length, false, Math.max(2, threshold)).invoke();
+    }
+
+    public static <T extends Comparable<? super T>> void sort(T[] a, int threshold, int parallelism) {
+        Paralelismo.executar(parallelism, () -> sort(a, threshold));
+    }
+
+    /** Ordena a[lo, hi) deixando o resultado em 'a' (toW=false) ou em 'w' (toW=true). */
+    @SuppressWarnings("serial")
+    private static final class SortTask<T extends Comparable<? super T>> extends RecursiveAction {
+        private final T[] a, w;
+        private final int lo, hi, threshold;
+        private final boolean toW;
+
+        SortTask(T[] a, T[] w, int lo, int hi, boolean toW, int threshold) {
+            this.a = a; this.w = w; this.lo = lo; this.hi = hi; this.toW = toW; this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                Ordenadores.mergeSortRange(a, w, lo, hi);
+                if (toW) {
+                    System.arraycopy(a, lo, w, lo, hi - lo);
+                    Metricas.movimentos(hi - lo);
+                }
+                return;
+            }
+            // metades vão para o vetor oposto ao destino; o merge as traz de volta
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask<>(a, w, lo, mid, !toW, threshold),
+                      new SortTask<>(a, w, mid, hi, !toW, threshold));
+            if (toW) new MergeTask<>(a, lo, mid, mid, hi, w, lo, threshold).compute();
+            else     new MergeTask<>(w, lo, mid, mid, hi, a, lo, threshold).compute();
+        }
+    }
+
+    /** Intercala src[lo1, hi1) e src[lo2, hi2) em dst a partir de k (estável: empate vai para a esquerda). */
+    @SuppressWarnings("serial")
+    private static final class MergeTask<T extends Comparable<? super T>> extends RecursiveAction {
+        private final T[] src, dst;
+        private final int lo1, hi1, lo2, hi2, k, threshold;
+
+        MergeTask(T[] src, int lo1, int hi1, int lo2, int hi2, T[] dst, int k, int threshold) {
+            this.src = src; this.lo1 = lo1; this.hi1 = hi1; this.lo2 = lo2; this.hi2 = hi2;
+            this.dst = dst; this.k = k; this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= threshold) {
+                int i = lo1, j = lo2, o = k;
+                while (i < hi1 && j < hi2) {
+                    if (Metricas.cmp(src[i].compareTo(src[j]) <= 0)) dst[o++] = src[i++];
+                    else                                             dst[o++] = src[j++];
+                }
+                while (i < hi1) dst[o++] = src[i++];
+                while (j < hi2) dst[o++] = src[j++];
+                Metricas.movimentos(n1 + n2);
+                return;
+            }
+            // corta a maior metade no meio; na outra, lowerBound/upperBound preservam a estabilidade
+            int m1, m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src[m1]);
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src[m2]);
+            }
+            int km = k + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new MergeTask<>(src, lo1, m1, lo2, m2, dst, k, threshold),
+                      new MergeTask<>(src, m1, hi1, m2, hi2, dst, km, threshold));
+        }
+    }
+
+    /** Primeiro índice em [lo, hi) com a[i] >= x. */
+    private static <T extends Comparable<? super T>> int lowerBound(T[] a, int lo, int hi, T x) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (Metricas.cmp(a[m].compareTo(x) < 0)) lo = m + 1; else hi = m;
+        }
+        return lo;
+    }
+
+    /** Primeiro índice em [lo, hi) com a[i] > x. */
+    private static <T extends Comparable<? super T>> int upperBound(T[] a, int lo, int hi, T x) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (Metricas.cmp(a[m].compareTo(x) <= 0)) lo = m + 1; else hi = m;
+        }
+        return lo;
+    }
+
+    // ---------- Versões int[] ----------
+
+    public static void sort(int[] a) {
+        sort(a, SEQUENTIAL_THRESHOLD);
+    }
+
+    public static void sort(int[] a, int threshold) {
+        if (a == null || a.length < 2) return;
+        Metricas.alocacao((long) a.length * Integer.BYTES);
+        new SortTaskInt(a, a.clone(), 0, a.length, false, Math.max(2, threshold)).invoke();
+    }
+
+    public static void sort(int[] a, int threshold, int parallelism) {
+        Paralelismo.executar(parallelism, () -> sort(a, threshold));
+    }
+
+    @SuppressWarnings("serial")
+    private static final class SortTaskInt extends RecursiveAction {
+        private final int[] a, w;
+        private final int lo, hi, threshold;
+        private final boolean toW;
+
+        SortTaskInt(int[] a, int[] w, int lo, int hi, boolean toW, int threshold) {
+            this.a = a; this.w = w; this.lo = lo; this.hi = hi; this.toW = toW; this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                Ordenadores.mergeSortRange(a, w, lo, hi);
+                if (toW) {
+                    System.arraycopy(a, lo, w, lo, hi - lo);
+                    Metricas.movimentos(hi - lo);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTaskInt(a, w, lo, mid, !toW, threshold),
+                      new SortTaskInt(a, w, mid, hi, !toW, threshold));
+            if (toW) new MergeTaskInt(a, lo, mid, mid, hi, w, lo, threshold).compute();
+            else     new MergeTaskInt(w, lo, mid, mid, hi, a, lo, threshold).compute();
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class MergeTaskInt extends RecursiveAction {
+        private final int[] src, dst;
+        private final int lo1, hi1, lo2, hi2, k, threshold;
+
+        MergeTaskInt(int[] src, int lo1, int hi1, int lo2, int hi2, int[] dst, int k, int threshold) {
+            this.src = src; this.lo1 = lo1; this.hi1 = hi1; this.lo2 = lo2; this.hi2 = hi2;
+            this.dst = dst; this.k = k; this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= threshold) {
+                int i = lo1, j = lo2, o = k;
+                while (i < hi1 && j < hi2) {
+                    if (Metricas.cmp(src[i] <= src[j])) dst[o++] = src[i++];
+                    else                                dst[o++] = src[j++];
+                }
+                while (i < hi1) dst[o++] = src[i++];
+                while (j < hi2) dst[o++] = src[j++];
+                Metricas.movimentos(n1 + n2);
+                return;
+            }
+            int m1, m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src[m1]);
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src[m2]);
+            }
+            int km = k + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new MergeTaskInt(src, lo1, m1, lo2, m2, dst, k, threshold),
+                      new MergeTaskInt(src, m1, hi1, m2, hi2, dst, km, threshold));
+        }
+    }
+
+    private static int lowerBound(int[] a, int lo, int hi, int x) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (Metricas.cmp(a[m] < x)) lo = m + 1; else hi = m;
+        }
+        return lo;
+    }
+
+    private static int upperBound(int[] a, int lo, int hi, int x) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (Metricas.cmp(a[m] <= x)) lo = m + 1; else hi = m;
+        }
+        return lo;
+    }
+
+    // ---------- Versões long[] ----------
+
+    public static void sort(long[] a) {
+        sort(a, SEQUENTIAL_THRESHOLD);
+    }
+
+    public static void sort(long[] a, int threshold) {
+        if (a == null || a.length < 2) return;
+        Metricas.alocacao((long) a.length * Long.BYTES);
+        new SortTaskLong(a, a.clone(), 0, a.length, false, Math.max(2, threshold)).invoke();
+    }
+
+    public static void sort(long[] a, int threshold, int parallelism) {
+        Paralelismo.executar(parallelism, () -> sort(a, threshold));
+    }
+
+    @SuppressWarnings("serial")
+    private static final class SortTaskLong extends RecursiveAction {
+        private final long[] a, w;
+        private final int lo, hi, threshold;
+        private final boolean toW;
+
+        SortTaskLong(long[] a, long[] w, int lo, int hi, boolean toW, int threshold) {
+            this.a = a; this.w = w; this.lo = lo; this.hi = hi; this.toW = toW; this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                Ordenadores.mergeSortRange(a, w, lo, hi);
+                if (toW) {
+                    System.arraycopy(a, lo, w, lo, hi - lo);
+                    Metricas.movimentos(hi - lo);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTaskLong(a, w, lo, mid, !toW, threshold),
+                      new SortTaskLong(a, w, mid, hi, !toW, threshold));
+            if (toW) new MergeTaskLong(a, lo, mid, mid, hi, w, lo, threshold).compute();
+            else     new MergeTaskLong(w, lo, mid, mid, hi, a, lo, threshold).compute();
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class MergeTaskLong extends RecursiveAction {
+        private final long[] src, dst;
+        private final int lo1, hi1, lo2, hi2, k, threshold;
+
+        MergeTaskLong(long[] src, int lo1, int hi1, int lo2, int hi2, long[] dst, int k, int threshold) {
+            this.src = src; this.lo1 = lo1; this.hi1 = hi1; this.lo2 = lo2; this.hi2 = hi2;
+            this.dst = dst; this.k = k; this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= threshold) {
+                int i = lo1, j = lo2, o = k;
+                while (i < hi1 && j < hi2) {
+                    if (Metricas.cmp(src[i] <= src[j])) dst[o++] = src[i++];
+                    else                                dst[o++] = src[j++];
+                }
+                while (i < hi1) dst[o++] = src[i++];
+                while (j < hi2) dst[o++] = src[j++];
+                Metricas.movimentos(n1 + n2);
+                return;
+            }
+            int m1, m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src[m1]);
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src[m2]);
+            }
+            int km = k + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new MergeTaskLong(src, lo1, m1, lo2, m2, dst, k, threshold),
+                      new MergeTaskLong(src, m1, hi1, m2, hi2, dst, km, threshold));
+        }
+    }
+
+    private static int lowerBound(long[] a, int lo, int hi, long x) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (Metricas.cmp(a[m] < x)) lo = m + 1; else hi = m;
+        }
+        return lo;
+    }
+
+    private static int upperBound(long[] a, int lo, int hi, long x) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (Metricas.cmp(a[m] <= x)) lo = m + 1; else hi = m;
+        }
+        return lo;
+    }
+
+    // ---------- Versões double[] ----------
+
+    public static void sort(double[] a) {
+        sort(a, SEQUENTIAL_THRESHOLD);
+    }
+
+    public static void sort(double[] a, int threshold) {
+        if (a == null || a.length < 2) return;
+        Metricas.alocacao((long) a.length * Double.BYTES);
+        new SortTaskDouble(a, a.clone(), 0, a.length, false, Math.max(2, threshold)).invoke();
+    }
+
+    public static void sort(double[] a, int threshold, int parallelism) {
+        Paralelismo.executar(parallelism, () -> sort(a, threshold));
+    }
+
+    @SuppressWarnings("serial")
+    private static final class SortTaskDouble extends RecursiveAction {
+        private final double[] a, w;
+        private final int lo, hi, threshold;
+        private final boolean toW;
+
+        SortTaskDouble(double[] a, double[] w, int lo, int hi, boolean toW, int threshold) {
+            this.a = a; this.w = w; this.lo = lo; this.hi = hi; this.toW = toW; this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                Ordenadores.mergeSortRange(a, w, lo, hi);
+                if (toW) {
+                    System.arraycopy(a, lo, w, lo, hi - lo);
+                    Metricas.movimentos(hi - lo);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTaskDouble(a, w, lo, mid, !toW, threshold),
+                      new SortTaskDouble(a, w, mid, hi, !toW, threshold));
+            if (toW) new MergeTaskDouble(a, lo, mid, mid, hi, w, lo, threshold).compute();
+            else     new MergeTaskDouble(w, lo, mid, mid, hi, a, lo, threshold).compute();
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class MergeTaskDouble extends RecursiveAction {
+        private final double[] src, dst;
+        private final int lo1, hi1, lo2, hi2, k, threshold;
+
+        MergeTaskDouble(double[] src, int lo1, int hi1, int lo2, int hi2, double[] dst, int k, int threshold) {
+            this.src = src; this.lo1 = lo1; this.hi1 = hi1; this.lo2 = lo2; this.hi2 = hi2;
+            this.dst = dst; this.k = k; this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= threshold) {
+                int i = lo1, j = lo2, o = k;
+                while (i < hi1 && j < hi2) {
+                    if (Metricas.cmp(src[i] <= src[j])) dst[o++] = src[i++];
+                    else                                dst[o++] = src[j++];
+                }
+                while (i < hi1) dst[o++] = src[i++];
+                while (j < hi2) dst[o++] = src[j++];
+                Metricas.movimentos(n1 + n2);
+                return;
+            }
+            int m1, m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src[m1]);
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src[m2]);
+            }
+            int km = k + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new MergeTaskDouble(src, lo1, m1, lo2, m2, dst, k, threshold),
+                      new MergeTaskDouble(src, m1, hi1, m2, hi2, dst, km, threshold));
+        }
+    }
+
+    private static int lowerBound(double[] a, int lo, int hi, double x) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (Metricas.cmp(a[m] < x)) lo = m + 1; else hi = m;
+        }
+        return lo;
+    }
+
+    private static int upperBound(double[] a, int lo, int hi, double x) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (Metricas.cmp(a[m] <= x)) lo = m + 1; else hi = m;
+        }
+        return lo;
+    }
+}
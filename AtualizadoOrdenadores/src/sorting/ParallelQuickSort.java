@@ -0,0 +1,185 @@
+package sorting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Quick Sort paralelo, in-place (fork-join com work-stealing).
+ * - Mesma partição de Hoare com mediana-de-três de Ordenadores.quickSort.
+ * - Acima de PARALLEL_CUTOFF: a partição menor vira uma tarefa (fork, pode ser roubada
+ *   por outra thread) e o laço continua na maior, limitando a profundidade a O(log n).
+ * - Abaixo do cutoff cai no quick sequencial, que por sua vez fecha as folhas com
+ *   insertionRange (Comparable) ou SmallSort (primitivos, corte INSERTION_CUTOFF_*).
+ * - sort(a) usa o ForkJoinPool corrente (ou o commonPool); sort(a, parallelism) cria um pool
+ *   com esse número de threads, para medir a escalabilidade de 1 a N núcleos.
+ */
+public final class ParallelQuickSort {
+    private ParallelQuickSort() {}
+
+    /** Faixas menores que isso não geram novas tarefas. */
+    public static final int PARALLEL_CUTOFF = 1 << 13;
+
+    // ---------- Versão genérica (Comparable) ----------
+
+    public static <T extends Comparable<? super T>> void sort(T[] a) {
+        if (a == null || a.length < 2) return;
+        new QuickTask<>(a, 0, a.length - 1).invoke();
+    }
+
+    public static <T extends Comparable<? super T>> void sort(T[] a, int parallelism) {
+        Paralelismo.executar(parallelism, () -> sort(a));
+    }
+
+    /** Ordena a[lo..hi] (inclusivo), como Ordenadores.quick. */
+    @SuppressWarnings("serial")
+    private static final class QuickTask<T extends Comparable<? super T>> extends RecursiveAction {
+        private final T[] a;
+        private final int lo, hi;
+
+        QuickTask(T[] a, int lo, int hi) { this.a = a; this.lo = lo; this.hi = hi; }
+
+        @Override
+        protected void compute() {
+            List<QuickTask<T>> forks = new ArrayList<>();
+            int lo = this.lo, hi = this.hi;
+            while (hi - lo + 1 > PARALLEL_CUTOFF) {
+                int j = Ordenadores.hoarePartition(a, lo, hi);
+                // forka a menor partição e segue no laço com a maior
+                QuickTask<T> menor;
+                if (j - lo < hi - (j + 1)) {
+                    menor = new QuickTask<>(a, lo, j);
+                    lo = j + 1;
+                } else {
+                    menor = new QuickTask<>(a, j + 1, hi);
+                    hi = j;
+                }
+                menor.fork();
+                forks.add(menor);
+            }
+            Ordenadores.quick(a, lo, hi);
+            // join em ordem inversa (LIFO): as tarefas não roubadas rodam aqui mesmo
+            for (int k = forks.size() - 1; k >= 0; k--) forks.get(k).join();
+        }
+    }
+
+    // ---------- Versões int[] ----------
+
+    public static void sort(int[] a) {
+        if (a == null || a.length < 2) return;
+        new QuickTaskInt(a, 0, a.length - 1).invoke();
+    }
+
+    public static void sort(int[] a, int parallelism) {
+        Paralelismo.executar(parallelism, () -> sort(a));
+    }
+
+    @SuppressWarnings("serial")
+    private static final class QuickTaskInt extends RecursiveAction {
+        private final int[] a;
+        private final int lo, hi;
+
+        QuickTaskInt(int[] a, int lo, int hi) { this.a = a; this.lo = lo; this.hi = hi; }
+
+        @Override
+        protected void compute() {
+            List<QuickTaskInt> forks = new ArrayList<>();
+            int lo = this.lo, hi = this.hi;
+            while (hi - lo + 1 > PARALLEL_CUTOFF) {
+                int j = Ordenadores.hoarePartition(a, lo, hi);
+                QuickTaskInt menor;
+                if (j - lo < hi - (j + 1)) {
+                    menor = new QuickTaskInt(a, lo, j);
+                    lo = j + 1;
+                } else {
+                    menor = new QuickTaskInt(a, j + 1, hi);
+                    hi = j;
+                }
+                menor.fork();
+                forks.add(menor);
+            }
+            Ordenadores.quick(a, lo, hi);
+            for (int k = forks.size() - 1; k >= 0; k--) forks.get(k).join();
+        }
+    }
+
+    // ---------- Versões long[] ----------
+
+    public static void sort(long[] a) {
+        if (a == null || a.length < 2) return;
+        new QuickTaskLong(a, 0, a.length - 1).invoke();
+    }
+
+    public static void sort(long[] a, int parallelism) {
+        Paralelismo.executar(parallelism, () -> sort(a));
+    }
+
+    @SuppressWarnings("serial")
+    private static final class QuickTaskLong extends RecursiveAction {
+        private final long[] a;
+        private final int lo, hi;
+
+        QuickTaskLong(long[] a, int lo, int hi) { this.a = a; this.lo = lo; this.hi = hi; }
+
+        @Override
+        protected void compute() {
+            List<QuickTaskLong> forks = new ArrayList<>();
+            int lo = this.lo, hi = this.hi;
+            while (hi - lo + 1 > PARALLEL_CUTOFF) {
+                int j = Ordenadores.hoarePartition(a, lo, hi);
+                QuickTaskLong menor;
+                if (j - lo < hi - (j + 1)) {
+                    menor = new QuickTaskLong(a, lo, j);
+                    lo = j + 1;
+                } else {
+                    menor = new QuickTaskLong(a, j + 1, hi);
+                    hi = j;
+                }
+                menor.fork();
+                forks.add(menor);
+            }
+            Ordenadores.quick(a, lo, hi);
+            for (int k = forks.size() - 1; k >= 0; k--) forks.get(k).join();
+        }
+    }
+
+    // ---------- Versões double[] ----------
+
+    public static void sort(double[] a) {
+        if (a == null || a.length < 2) return;
+        new QuickTaskDouble(a, 0, a.length - 1).invoke();
+    }
+
+    public static void sort(double[] a, int parallelism) {
+        Paralelismo.executar(parallelism, () -> sort(a));
+    }
+
+    @SuppressWarnings("serial")
+    private static final class QuickTaskDouble extends RecursiveAction {
+        private final double[] a;
+        private final int lo, hi;
+
+        QuickTaskDouble(double[] a, int lo, int hi) { this.a = a; this.lo = lo; this.hi = hi; }
+
+        @Override
+        protected void compute() {
+            List<QuickTaskDouble> forks = new ArrayList<>();
+            int lo = this.lo, hi = this.hi;
+            while (hi - lo + 1 > PARALLEL_CUTOFF) {
+                int j = Ordenadores.hoarePartition(a, lo, hi);
+                QuickTaskDouble menor;
+                if (j - lo < hi - (j + 1)) {
+                    menor = new QuickTaskDouble(a, lo, j);
+                    lo = j + 1;
+                } else {
+                    menor = new QuickTaskDouble(a, j + 1, hi);
+                    hi = j;
+                }
+                menor.fork();
+                forks.add(menor);
+            }
+            Ordenadores.quick(a, lo, hi);
+            for (int k = forks.size() - 1; k >= 0; k--) forks.get(k).join();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Radix Sort MSD paralelo (bytes de 8 bits, com sinal), para int[] e long[].
+ * - Byte mais alto: o vetor é dividido em um pedaço por thread; cada pedaço monta seu
+ *   próprio histograma em paralelo, os histogramas viram deslocamentos por pedaço e o
+ *   scatter também roda em paralelo (estável, sem contenção).
+ * - Cada bucket resultante é ordenado pelos bytes seguintes como tarefa fork-join
+ *   independente; buckets pequenos caem na inserção direta.
+ * - sort(a) usa o ForkJoinPool corrente (ou o commonPool); sort(a, parallelism) cria um pool.
+ * Memória auxiliar: um vetor do tamanho da entrada.
+ */
+public final class ParallelRadixSort {
+    private ParallelRadixSort() {}
+
+    private static final int RADIX = 256;
+    /** Buckets até esse tamanho são ordenados por inserção. */
+    private static final int INSERTION_THRESHOLD = 64;
+    /** Buckets a partir desse tamanho viram tarefas (fork); menores rodam na mesma thread. */
+    private static final int FORK_THRESHOLD = 1 << 14;
+    /** Tamanho mínimo de cada pedaço no histograma/scatter paralelo do primeiro byte. */
+    private static final int MIN_PEDACO = 1 << 15;
+
+    private static int numPedacos(int n) {
+        return Math.max(1, Math.min(Paralelismo.paralelismoAtual(), n / MIN_PEDACO));
+    }
+
+    // ---------- Versão int[] (4 bytes) ----------
+
+    public static void sort(int[] a) {
+        if (a == null || a.length < 2) return;
+        if (a.length <= INSERTION_THRESHOLD) {
+            insertion(a, 0, a.length);
+            return;
+        }
+        final int n = a.length;
+        final int[] aux = new int[n];
+        final int shift = 24;
+
+        // 1) um histograma do byte mais alto por pedaço, em paralelo
+        final int pedacos = numPedacos(n);
+        final int tamPedaco = (n + pedacos - 1) / pedacos;
+        final int[][] hist = new int[pedacos][RADIX];
+        List<ForkJoinTask<?>> tarefas = new ArrayList<>(pedacos);
+        for (int c = 0; c < pedacos; c++) {
+            final int[] h = hist[c];
+            final int lo = c * tamPedaco, hi = Math.min(n, lo + tamPedaco);
+            tarefas.add(ForkJoinTask.adapt(() -> {
+                for (int i = lo; i < hi; i++) h[digito(a[i], shift)]++;
+            }));
+        }
+        ForkJoinTask.invokeAll(tarefas);
+
+        // 2) início de cada bucket e, dentro dele, o deslocamento de cada pedaço (mantém a estabilidade)
+        int[] inicio = new int[RADIX + 1];
+        int soma = 0;
+        for (int d = 0; d < RADIX; d++) {
+            inicio[d] = soma;
+            for (int c = 0; c < pedacos; c++) {
+                int x = hist[c][d];
+                hist[c][d] = soma;
+                soma += x;
+            }
+        }
+        inicio[RADIX] = n;
+
+        // 3) scatter em paralelo: cada pedaço escreve nas suas próprias posições
+        tarefas.clear();
+        for (int c = 0; c < pedacos; c++) {
+            final int[] pos = hist[c];
+            final int lo = c * tamPedaco, hi = Math.min(n, lo + tamPedaco);
+            tarefas.add(ForkJoinTask.adapt(() -> {
+                for (int i = lo; i < hi; i++) {
+                    int v = a[i];
+                    aux[pos[digito(v, shift)]++] = v;
+                }
+            }));
+        }
+        ForkJoinTask.invokeAll(tarefas);
+
+        // 4) cada bucket vira uma tarefa independente (próximo byte, de aux de volta para a)
+        tarefas.clear();
+        for (int d = 0; d < RADIX; d++) {
+            if (inicio[d + 1] > inicio[d]) tarefas.add(new BucketInt(a, aux, a, inicio[d], inicio[d + 1], shift - 8));
+        }
+        ForkJoinTask.invokeAll(tarefas);
+    }
+
+    public static void sort(int[] a, int parallelism) {
+        Paralelismo.executar(parallelism, () -> sort(a));
+    }
+
+    /** Ordena from[lo, hi) pelo byte 'shift' e seguintes; o resultado final vai para 'a'. */
+    @SuppressWarnings("serial")
+    private static final class BucketInt extends RecursiveAction {
+        private final int[] a, from, to;
+        private final int lo, hi, shift;
+
+        BucketInt(int[] a, int[] from, int[] to, int lo, int hi, int shift) {
+            this.a = a; this.from = from; this.to = to; this.lo = lo; this.hi = hi; this.shift = shift;
+        }
+
+        @Override
+        protected void compute() {
+            final int n = hi - lo;
+            if (n <= INSERTION_THRESHOLD || shift < 0) {
+                if (shift >= 0) insertion(from, lo, hi); // shift < 0: todas as chaves iguais
+                if (from != a) System.arraycopy(from, lo, a, lo, n);
+                return;
+            }
+            int[] cont = new int[RADIX + 1];
+            for (int i = lo; i < hi; i++) cont[digito(from[i], shift) + 1]++;
+            if (cont[digito(from[lo], shift) + 1] == n) { // byte igual em todos: vai direto ao próximo
+                new BucketInt(a, from, to, lo, hi, shift - 8).compute();
+                return;
+            }
+            cont[0] = lo;
+            for (int d = 1; d <= RADIX; d++) cont[d] += cont[d - 1];
+            int[] pos = Arrays.copyOf(cont, RADIX);
+            for (int i = lo; i < hi; i++) {
+                int v = from[i];
+                to[pos[digito(v, shift)]++] = v;
+            }
+
+            List<BucketInt> forks = new ArrayList<>();
+            for (int d = 0; d < RADIX; d++) {
+                int blo = cont[d], bhi = cont[d + 1];
+                if (bhi == blo) continue;
+                BucketInt b = new BucketInt(a, to, from, blo, bhi, shift - 8);
+                if (bhi - blo >= FORK_THRESHOLD) {
+                    b.fork();
+                    forks.add(b);
+                } else {
+                    b.compute();
+                }
+            }
+            for (BucketInt b : forks) b.join();
+        }
+    }
+
+    private static int digito(int v, int shift) {
+        return ((v ^ Integer.MIN_VALUE) >>> shift) & 0xFF;
+    }
+
+    private static void insertion(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            int key = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j] > key) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = key;
+        }
+    }
+
+    // ---------- Versão long[] (8 bytes) ----------
+
+    public static void sort(long[] a) {
+        if (a == null || a.length < 2) return;
+        if (a.length <= INSERTION_THRESHOLD) {
+            insertion(a, 0, a.length);
+            return;
+        }
+        final int n = a.length;
+        final long[] aux = new long[n];
+        final int shift = 56;
+
+        // 1) um histograma do byte mais alto por pedaço, em paralelo
+        final int pedacos = numPedacos(n);
+        final int tamPedaco = (n + pedacos - 1) / pedacos;
+        final int[][] hist = new int[pedacos][RADIX];
+        List<ForkJoinTask<?>> tarefas = new ArrayList<>(pedacos);
+        for (int c = 0; c < pedacos; c++) {
+            final int[] h = hist[c];
+            final int lo = c * tamPedaco, hi = Math.min(n, lo + tamPedaco);
+            tarefas.add(ForkJoinTask.adapt(() -> {
+                for (int i = lo; i < hi; i++) h[digito(a[i], shift)]++;
+            }));
+        }
+        ForkJoinTask.invokeAll(tarefas);
+
+        // 2) início de cada bucket e, dentro dele, o deslocamento de cada pedaço (mantém a estabilidade)
+        int[] inicio = new int[RADIX + 1];
+        int soma = 0;
+        for (int d = 0; d < RADIX; d++) {
+            inicio[d] = soma;
+            for (int c = 0; c < pedacos; c++) {
+                int x = hist[c][d];
+                hist[c][d] = soma;
+                soma += x;
+            }
+        }
+        inicio[RADIX] = n;
+
+        // 3) scatter em paralelo: cada pedaço escreve nas suas próprias posições
+        tarefas.clear();
+        for (int c = 0; c < pedacos; c++) {
+            final int[] pos = hist[c];
+            final int lo = c * tamPedaco, hi = Math.min(n, lo + tamPedaco);
+            tarefas.add(ForkJoinTask.adapt(() -> {
+                for (int i = lo; i < hi; i++) {
+                    long v = a[i];
+                    aux[pos[digito(v, shift)]++] = v;
+                }
+            }));
+        }
+        ForkJoinTask.invokeAll(tarefas);
+
+        // 4) cada bucket vira uma tarefa independente (próximo byte, de aux de volta para a)
+        tarefas.clear();
+        for (int d = 0; d < RADIX; d++) {
+            if (inicio[d + 1] > inicio[d]) tarefas.add(new BucketLong(a, aux, a, inicio[d], inicio[d + 1], shift - 8));
+        }
+        ForkJoinTask.invokeAll(tarefas);
+    }
+
+    public static void sort(long[] a, int parallelism) {
+        Paralelismo.executar(parallelism, () -> sort(a));
+    }
+
+    /** Ordena from[lo, hi) pelo byte 'shift' e seguintes; o resultado final vai para 'a'. */
+    @SuppressWarnings("serial")
+    private static final class BucketLong extends RecursiveAction {
+        private final long[] a, from, to;
+        private final int lo, hi, shift;
+
+        BucketLong(long[] a, long[] from, long[] to, int lo, int hi, int shift) {
+            this.a = a; this.from = from; this.to = to; this.lo = lo; this.hi = hi; this.shift = shift;
+        }
+
+        @Override
+        protected void compute() {
+            final int n = hi - lo;
+            if (n <= INSERTION_THRESHOLD || shift < 0) {
+                if (shift >= 0) insertion(from, lo, hi); // shift < 0: todas as chaves iguais
+                if (from != a) System.arraycopy(from, lo, a, lo, n);
+                return;
+            }
+            int[] cont = new int[RADIX + 1];
+            for (int i = lo; i < hi; i++) cont[digito(from[i], shift) + 1]++;
+            if (cont[digito(from[lo], shift) + 1] == n) { // byte igual em todos: vai direto ao próximo
+                new BucketLong(a, from, to, lo, hi, shift - 8).compute();
+                return;
+            }
+            cont[0] = lo;
+            for (int d = 1; d <= RADIX; d++) cont[d] += cont[d - 1];
+            int[] pos = Arrays.copyOf(cont, RADIX);
+            for (int i = lo; i < hi; i++) {
+                long v = from[i];
+                to[pos[digito(v, shift)]++] = v;
+            }
+
+            List<BucketLong> forks = new ArrayList<>();
+            for (int d = 0; d < RADIX; d++) {
+                int blo = cont[d], bhi = cont[d + 1];
+                if (bhi == blo) continue;
+                BucketLong b = new BucketLong(a, to, from, blo, bhi, shift - 8);
+                if (bhi - blo >= FORK_THRESHOLD) {
+                    b.fork();
+                    forks.add(b);
+                } else {
+                    b.compute();
+                }
+            }
+            for (BucketLong b : forks) b.join();
+        }
+    }
+
+    private static int digito(long v, int shift) {
+        return (int) (((v ^ Long.MIN_VALUE) >>> shift) & 0xFF);
+    }
+
+    private static void insertion(long[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            long key = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j] > key) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = key;
+        }
+    }
+}
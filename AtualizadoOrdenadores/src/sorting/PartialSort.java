@@ -0,0 +1,285 @@
+package sorting;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Seleção e ordenação parcial: quando só interessam os k menores, sem ordenar tudo.
+ * - nthElement(a, k): quickselect com a mesma partição de Hoare (pivô mediana-de-três) de
+ *   Ordenadores.quickSort; reorganiza 'a' para que a[k] seja o elemento da posição k na
+ *   ordem crescente, com a[0..k) <= a[k] <= a(k..]. O(n) esperado; passando do limite de
+ *   profundidade do introsort, a faixa restante vai para o heap sort (pior caso O(n log n)).
+ * - partialSort(a, k): a[0..k) passa a ter os k menores em ordem; o resto fica sem ordem
+ *   definida. Seleção + introsort do prefixo: O(n + k log k).
+ * - topK(a, k): devolve um vetor novo com os k menores em ordem, sem mexer em 'a'.
+ *   Heap de máximo limitado a k elementos: O(n log k) e só O(k) de memória.
+ * Versões para T extends Comparable, int[], long[] e double[] (sem NaN).
+ */
+public final class PartialSort {
+    private PartialSort() {}
+
+    // ---------- Versão genérica ----------
+
+    /** Elemento que ficaria na posição k (0-based) da ordem crescente. */
+    public static <T extends Comparable<? super T>> T nthElement(T[] a, int k) {
+        Objects.checkIndex(k, a.length);
+        select(a, 0, a.length - 1, k);
+        return a[k];
+    }
+
+    /** Os k menores em ordem crescente no início de 'a' (k >= n ordena tudo). */
+    public static <T extends Comparable<? super T>> void partialSort(T[] a, int k) {
+        if (a == null || k <= 0 || a.length < 2) return;
+        final int n = a.length;
+        if (k >= n) {
+            Ordenadores.introSort(a);
+            return;
+        }
+        select(a, 0, n - 1, k - 1);
+        Ordenadores.intro(a, 0, k - 1, Ordenadores.depthLimit(k));
+    }
+
+    /** Novo vetor com os min(k, n) menores em ordem crescente; 'a' não é alterado. */
+    public static <T extends Comparable<? super T>> T[] topK(T[] a, int k) {
+        if (a == null) return null;
+        if (k <= 0) return Arrays.copyOf(a, 0);
+        if (k > a.length) k = a.length;
+        T[] heap = Arrays.copyOf(a, k); // heap de máximo com os k menores vistos até agora
+        for (int i = (k >>> 1) - 1; i >= 0; i--) siftDown(heap, i, k);
+        for (int i = k; i < a.length; i++) {
+            if (Metricas.cmp(a[i].compareTo(heap[0]) < 0)) { // menor que o maior dos k: substitui a raiz
+                heap[0] = a[i];
+                Metricas.movimento();
+                siftDown(heap, 0, k);
+            }
+        }
+        Ordenadores.heapRange(heap, 0, k - 1);
+        return heap;
+    }
+
+    /** Quickselect em a[lo..hi] (inclusivo) até fixar a posição k. */
+    private static <T extends Comparable<? super T>> void select(T[] a, int lo, int hi, int k) {
+        int depth = Ordenadores.depthLimit(hi - lo + 1);
+        while (hi - lo + 1 > Ordenadores.INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                Ordenadores.heapRange(a, lo, hi);
+                return;
+            }
+            int j = Ordenadores.hoarePartition(a, lo, hi); // a[lo..j] <= pivô <= a[j+1..hi]
+            if (k <= j) hi = j;
+            else        lo = j + 1;
+        }
+        Ordenadores.insertionRange(a, lo, hi);
+    }
+
+    /** siftDown de heap de máximo em h[0, n), movendo o "buraco" em vez de trocar. */
+    private static <T extends Comparable<? super T>> void siftDown(T[] h, int i, int n) {
+        T x = h[i];
+        while (true) {
+            int child = (i << 1) + 1;
+            if (child >= n) break;
+            if (child + 1 < n && Metricas.cmp(h[child + 1].compareTo(h[child]) > 0)) child++;
+            if (Metricas.cmp(h[child].compareTo(x) <= 0)) break;
+            h[i] = h[child];
+            Metricas.movimento();
+            i = child;
+        }
+        h[i] = x;
+        Metricas.movimento();
+    }
+
+    // ---------- Versão int[] ----------
+
+    public static int nthElement(int[] a, int k) {
+        Objects.checkIndex(k, a.length);
+        select(a, 0, a.length - 1, k);
+        return a[k];
+    }
+
+    public static void partialSort(int[] a, int k) {
+        if (a == null || k <= 0 || a.length < 2) return;
+        final int n = a.length;
+        if (k >= n) {
+            Ordenadores.introSort(a);
+            return;
+        }
+        select(a, 0, n - 1, k - 1);
+        Ordenadores.intro(a, 0, k - 1, Ordenadores.depthLimit(k));
+    }
+
+    public static int[] topK(int[] a, int k) {
+        if (a == null) return null;
+        if (k <= 0) return new int[0];
+        if (k > a.length) k = a.length;
+        int[] heap = Arrays.copyOf(a, k);
+        for (int i = (k >>> 1) - 1; i >= 0; i--) siftDown(heap, i, k);
+        for (int i = k; i < a.length; i++) {
+            if (Metricas.cmp(a[i] < heap[0])) {
+                heap[0] = a[i];
+                Metricas.movimento();
+                siftDown(heap, 0, k);
+            }
+        }
+        Ordenadores.heapRange(heap, 0, k - 1);
+        return heap;
+    }
+
+    private static void select(int[] a, int lo, int hi, int k) {
+        int depth = Ordenadores.depthLimit(hi - lo + 1);
+        while (hi - lo + 1 > Ordenadores.INSERTION_CUTOFF_INT) {
+            if (depth-- == 0) {
+                Ordenadores.heapRange(a, lo, hi);
+                return;
+            }
+            int j = Ordenadores.hoarePartition(a, lo, hi);
+            if (k <= j) hi = j;
+            else        lo = j + 1;
+        }
+        SmallSort.sort(a, lo, hi);
+    }
+
+    private static void siftDown(int[] h, int i, int n) {
+        int x = h[i];
+        while (true) {
+            int child = (i << 1) + 1;
+            if (child >= n) break;
+            if (child + 1 < n && Metricas.cmp(h[child + 1] > h[child])) child++;
+            if (Metricas.cmp(h[child] <= x)) break;
+            h[i] = h[child];
+            Metricas.movimento();
+            i = child;
+        }
+        h[i] = x;
+        Metricas.movimento();
+    }
+
+    // ---------- Versão long[] ----------
+
+    public static long nthElement(long[] a, int k) {
+        Objects.checkIndex(k, a.length);
+        select(a, 0, a.length - 1, k);
+        return a[k];
+    }
+
+    public static void partialSort(long[] a, int k) {
+        if (a == null || k <= 0 || a.length < 2) return;
+        final int n = a.length;
+        if (k >= n) {
+            Ordenadores.introSort(a);
+            return;
+        }
+        select(a, 0, n - 1, k - 1);
+        Ordenadores.intro(a, 0, k - 1, Ordenadores.depthLimit(k));
+    }
+
+    public static long[] topK(long[] a, int k) {
+        if (a == null) return null;
+        if (k <= 0) return new long[0];
+        if (k > a.length) k = a.length;
+        long[] heap = Arrays.copyOf(a, k);
+        for (int i = (k >>> 1) - 1; i >= 0; i--) siftDown(heap, i, k);
+        for (int i = k; i < a.length; i++) {
+            if (Metricas.cmp(a[i] < heap[0])) {
+                heap[0] = a[i];
+                Metricas.movimento();
+                siftDown(heap, 0, k);
+            }
+        }
+        Ordenadores.heapRange(heap, 0, k - 1);
+        return heap;
+    }
+
+    private static void select(long[] a, int lo, int hi, int k) {
+        int depth = Ordenadores.depthLimit(hi - lo + 1);
+        while (hi - lo + 1 > Ordenadores.INSERTION_CUTOFF_LONG) {
+            if (depth-- == 0) {
+                Ordenadores.heapRange(a, lo, hi);
+                return;
+            }
+            int j = Ordenadores.hoarePartition(a, lo, hi);
+            if (k <= j) hi = j;
+            else        lo = j + 1;
+        }
+        SmallSort.sort(a, lo, hi);
+    }
+
+    private static void siftDown(long[] h, int i, int n) {
+        long x = h[i];
+        while (true) {
+            int child = (i << 1) + 1;
+            if (child >= n) break;
+            if (child + 1 < n && Metricas.cmp(h[child + 1] > h[child])) child++;
+            if (Metricas.cmp(h[child] <= x)) break;
+            h[i] = h[child];
+            Metricas.movimento();
+            i = child;
+        }
+        h[i] = x;
+        Metricas.movimento();
+    }
+
+    // ---------- Versão double[] ----------
+
+    public static double nthElement(double[] a, int k) {
+        Objects.checkIndex(k, a.length);
+        select(a, 0, a.length - 1, k);
+        return a[k];
+    }
+
+    public static void partialSort(double[] a, int k) {
+        if (a == null || k <= 0 || a.length < 2) return;
+        final int n = a.length;
+        if (k >= n) {
+            Ordenadores.introSort(a);
+            return;
+        }
+        select(a, 0, n - 1, k - 1);
+        Ordenadores.intro(a, 0, k - 1, Ordenadores.depthLimit(k));
+    }
+
+    public static double[] topK(double[] a, int k) {
+        if (a == null) return null;
+        if (k <= 0) return new double[0];
+        if (k > a.length) k = a.length;
+        double[] heap = Arrays.copyOf(a, k);
+        for (int i = (k >>> 1) - 1; i >= 0; i--) siftDown(heap, i, k);
+        for (int i = k; i < a.length; i++) {
+            if (Metricas.cmp(a[i] < heap[0])) {
+                heap[0] = a[i];
+                Metricas.movimento();
+                siftDown(heap, 0, k);
+            }
+        }
+        Ordenadores.heapRange(heap, 0, k - 1);
+        return heap;
+    }
+
+    private static void select(double[] a, int lo, int hi, int k) {
+        int depth = Ordenadores.depthLimit(hi - lo + 1);
+        while (hi - lo + 1 > Ordenadores.INSERTION_CUTOFF_DOUBLE) {
+            if (depth-- == 0) {
+                Ordenadores.heapRange(a, lo, hi);
+                return;
+            }
+            int j = Ordenadores.hoarePartition(a, lo, hi);
+            if (k <= j) hi = j;
+            else        lo = j + 1;
+        }
+        SmallSort.sort(a, lo, hi);
+    }
+
+    private static void siftDown(double[] h, int i, int n) {
+        double x = h[i];
+        while (true) {
+            int child = (i << 1) + 1;
+            if (child >= n) break;
+            if (child + 1 < n && Metricas.cmp(h[child + 1] > h[child])) child++;
+            if (Metricas.cmp(h[child] <= x)) break;
+            h[i] = h[child];
+            Metricas.movimento();
+            i = child;
+        }
+        h[i] = x;
+        Metricas.movimento();
+    }
+}
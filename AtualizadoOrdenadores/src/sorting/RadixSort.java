@@ -3,27 +3,177 @@ package sorting;
 import bench.ColetorPassosInt;
 
 /**
- * Radix Sort (LSD) para inteiros NÃO-NEGATIVOS.
- * Base configurável (ex.: 10). Implementado via counting sort por dígito.
+ * Radix Sort (LSD).
+ * - sort(valores, base): base configurável (ex.: 10), dígitos via / e %, para inteiros
+ *   NÃO-NEGATIVOS (com negativos, cai automaticamente no radix de bytes abaixo).
+ * - sort(int[]/long[]/double[]): dígitos de 8 bits sobre o padrão de bits da chave, com
+ *   shifts e máscaras. O bit de sinal é invertido (int/long) e double usa a transformação
+ *   IEEE-754 que preserva a ordem, então negativos funcionam. Os histogramas de todos
+ *   os bytes saem numa única leitura, e passes em que todas as chaves têm o mesmo byte
+ *   são pulados.
+ * Implementado via counting sort estável por dígito.
  */
 public final class RadixSort {
     private RadixSort() {}
 
     /** Ordena in-place 'valores' assumindo apenas NÃO-NEGATIVOS. */
     public static void sort(int[] valores, int base) {
+        sort(valores, base, new Workspace());
+    }
+
+    /** Igual ao anterior, com vetor auxiliar e contagens vindos do Workspace (reutilizáveis). */
+    public static void sort(int[] valores, int base, Workspace ws) {
         if (valores == null || valores.length < 2) return;
         if (base < 2) base = 10;
 
+        // negativos quebrariam o (v / exp) % base: usa o radix de bytes com sinal
+        for (int v : valores) {
+            if (v < 0) {
+                sort(valores, ws);
+                return;
+            }
+        }
+
         int maxValor = max(valores);
         int exp = 1; // 1, base, base^2, ...
-        int[] auxiliar = new int[valores.length];
+        int[] auxiliar = ws.intBuffer(valores.length);
 
         while (maxValor / exp > 0) {
-            countingPorDigito(valores, auxiliar, base, exp);
+            countingPorDigito(valores, auxiliar, ws.counters(base), base, exp);
+            if (exp > maxValor / base) break; // próximo exp estouraria o int
             exp *= base;
         }
     }
 
+    // ---------- Radix de bytes (8 bits por passe), com sinal ----------
+
+    private static final int RADIX = 256;
+
+    /** Ordena qualquer int[] (inclusive negativos): 4 passes de 8 bits no máximo. */
+    public static void sort(int[] valores) {
+        sort(valores, new Workspace());
+    }
+
+    public static void sort(int[] valores, Workspace ws) {
+        if (valores == null || valores.length < 2) return;
+        final int n = valores.length;
+
+        // histogramas dos 4 bytes de uma vez (a distribuição de cada byte não muda entre passes)
+        int[] cont = ws.counters(4 * RADIX);
+        for (int v : valores) {
+            int k = v ^ Integer.MIN_VALUE; // inverte o sinal: ordem com sinal vira ordem sem sinal
+            cont[k & 0xFF]++;
+            cont[RADIX + ((k >>> 8) & 0xFF)]++;
+            cont[2 * RADIX + ((k >>> 16) & 0xFF)]++;
+            cont[3 * RADIX + (k >>> 24)]++;
+        }
+
+        int[] src = valores, dst = ws.intBuffer(n);
+        for (int passe = 0; passe < 4; passe++) {
+            final int off = passe * RADIX, shift = passe * 8;
+            if (cont[off + (((src[0] ^ Integer.MIN_VALUE) >>> shift) & 0xFF)] == n) continue; // byte igual em todos
+
+            prefixo(cont, off);
+            for (int i = 0; i < n; i++) {
+                int v = src[i];
+                dst[cont[off + (((v ^ Integer.MIN_VALUE) >>> shift) & 0xFF)]++] = v;
+            }
+            int[] t = src; src = dst; dst = t;
+        }
+        if (src != valores) System.arraycopy(src, 0, valores, 0, n);
+    }
+
+    /** Ordena qualquer long[]: até 8 passes de 8 bits. */
+    public static void sort(long[] valores) {
+        sort(valores, new Workspace());
+    }
+
+    public static void sort(long[] valores, Workspace ws) {
+        if (valores == null) return;
+        sort(valores, valores.length, ws);
+    }
+
+    /**
+     * Ordena só valores[0, n), com o auxiliar em ws.longBuffer: 'valores' pode ser um
+     * buffer reaproveitado maior que os dados (ex.: ws.longAuxiliar), mas não o próprio
+     * ws.longBuffer.
+     */
+    public static void sort(long[] valores, int n, Workspace ws) {
+        if (valores == null || n < 2) return;
+
+        int[] cont = ws.counters(8 * RADIX);
+        for (int i = 0; i < n; i++) {
+            long k = valores[i] ^ Long.MIN_VALUE;
+            for (int passe = 0; passe < 8; passe++) cont[passe * RADIX + (int) ((k >>> (passe * 8)) & 0xFF)]++;
+        }
+
+        long[] src = valores, dst = ws.longBuffer(n);
+        for (int passe = 0; passe < 8; passe++) {
+            final int off = passe * RADIX, shift = passe * 8;
+            if (cont[off + (int) (((src[0] ^ Long.MIN_VALUE) >>> shift) & 0xFF)] == n) continue;
+
+            prefixo(cont, off);
+            for (int i = 0; i < n; i++) {
+                long v = src[i];
+                dst[cont[off + (int) (((v ^ Long.MIN_VALUE) >>> shift) & 0xFF)]++] = v;
+            }
+            long[] t = src; src = dst; dst = t;
+        }
+        if (src != valores) System.arraycopy(src, 0, valores, 0, n);
+    }
+
+    /**
+     * Ordena double[] pelo padrão de bits IEEE-754 transformado (ordem de Double.compare:
+     * -0.0 antes de 0.0, NaN no fim). Até 8 passes de 8 bits.
+     */
+    public static void sort(double[] valores) {
+        sort(valores, new Workspace());
+    }
+
+    public static void sort(double[] valores, Workspace ws) {
+        if (valores == null || valores.length < 2) return;
+        final int n = valores.length;
+
+        int[] cont = ws.counters(8 * RADIX);
+        for (double v : valores) {
+            long k = chave(v);
+            for (int passe = 0; passe < 8; passe++) cont[passe * RADIX + (int) ((k >>> (passe * 8)) & 0xFF)]++;
+        }
+
+        double[] src = valores, dst = ws.doubleBuffer(n);
+        for (int passe = 0; passe < 8; passe++) {
+            final int off = passe * RADIX, shift = passe * 8;
+            if (cont[off + (int) ((chave(src[0]) >>> shift) & 0xFF)] == n) continue;
+
+            prefixo(cont, off);
+            for (int i = 0; i < n; i++) {
+                double v = src[i];
+                dst[cont[off + (int) ((chave(v) >>> shift) & 0xFF)]++] = v;
+            }
+            double[] t = src; src = dst; dst = t;
+        }
+        if (src != valores) System.arraycopy(src, 0, valores, 0, n);
+    }
+
+    /**
+     * Bits do double numa chave cuja ordem SEM sinal é a ordem numérica:
+     * positivos só invertem o bit de sinal; negativos invertem todos os bits.
+     */
+    static long chave(double v) {
+        long b = Double.doubleToRawLongBits(v);
+        return b ^ ((b >> 63) | Long.MIN_VALUE);
+    }
+
+    /** Troca as contagens de cont[off, off+RADIX) pelas posições iniciais de cada byte. */
+    private static void prefixo(int[] cont, int off) {
+        int soma = 0;
+        for (int i = off; i < off + RADIX; i++) {
+            int c = cont[i];
+            cont[i] = soma;
+            soma += c;
+        }
+    }
+
     /**
      * Demonstração do Radix LSD. Emite snapshot após CADA PASSO DE DÍGITO (não a cada elemento),
      * limitando por 'maxPassos'.
@@ -35,10 +185,12 @@ public final class RadixSort {
         int maxValor = max(valores);
         int exp = 1; 
         int[] auxiliar = new int[valores.length];
+        int[] contagens = new int[base];
         int passos = 0;
 
         while (maxValor / exp > 0 && passos < maxPassos) {
-            countingPorDigito(valores, auxiliar, base, exp);
+            java.util.Arrays.fill(contagens, 0);
+            countingPorDigito(valores, auxiliar, contagens, base, exp);
 
             out.passo(valores.clone(), "após dígito exp=" + exp + " (base=" + base + ")");
             passos++;
@@ -55,10 +207,8 @@ public final class RadixSort {
         return m;
     }
 
-    /** Counting sort estável por um dígito (exp define o dígito atual). */
-    private static void countingPorDigito(int[] valores, int[] auxiliar, int base, int exp) {
-        int[] contagens = new int[base];
-
+    /** Counting sort estável por um dígito (exp define o dígito atual); 'contagens' chega zerado. */
+    private static void countingPorDigito(int[] valores, int[] auxiliar, int[] contagens, int base, int exp) {
         for (int v : valores) contagens[(v / exp) % base]++;
 
         for (int i = 1; i < base; i++) contagens[i] += contagens[i - 1];
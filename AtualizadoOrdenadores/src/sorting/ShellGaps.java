@@ -0,0 +1,100 @@
+package sorting;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Sequências de gaps do shell sort.
+ * - Cada sequência é calculada uma única vez, na carga do enum, como uma tabela int[]
+ *   crescente que vai de 1 até o maior gap que cabe em int; a tabela é privada e nunca
+ *   muda, então o sort não aloca nada por chamada.
+ * - Para n elementos usam-se os gaps menores que n, do maior para o menor:
+ *   for (g = seq.quantosAbaixoDe(n) - 1; g >= 0; g--) h = seq.gap(g).
+ *
+ * CIURA     1, 4, 10, 23, 57, 132, 301, 701 e depois ×2,25 (arredondado para baixo)
+ * TOKUDA    ⌈(9^k − 4^k) / (5·4^(k−1))⌉: 1, 4, 9, 20, 46, 103, ...
+ * SEDGEWICK 1 e 4^k + 3·2^(k−1) + 1: 1, 8, 23, 77, 281, ... (1986)
+ * PRATT     todos os 2^p·3^q: 1, 2, 3, 4, 6, 8, 9, 12, ... (O(n log² n), muitas passadas)
+ * KNUTH     (3^k − 1) / 2: 1, 4, 13, 40, 121, ...
+ */
+public enum ShellGaps {
+    CIURA(ShellGaps::ciura),
+    TOKUDA(ShellGaps::tokuda),
+    SEDGEWICK(ShellGaps::sedgewick),
+    PRATT(ShellGaps::pratt),
+    KNUTH(ShellGaps::knuth);
+
+    private final int[] tabela;
+
+    ShellGaps(Supplier<int[]> gerador) {
+        this.tabela = gerador.get();
+    }
+
+    /** i-ésimo gap da tabela (0 = gap 1). */
+    public int gap(int i) {
+        return tabela[i];
+    }
+
+    /** Quantos gaps são menores que n, ou seja, quantas passadas o shell sort faz com n elementos. */
+    public int quantosAbaixoDe(int n) {
+        int i = Arrays.binarySearch(tabela, n);
+        return i >= 0 ? i : -(i + 1);
+    }
+
+    /** Cópia dos gaps menores que n, em ordem crescente. */
+    public int[] gapsAbaixoDe(int n) {
+        return Arrays.copyOf(tabela, quantosAbaixoDe(n));
+    }
+
+    // ---------- Geração das tabelas (uma vez por sequência) ----------
+
+    private static int[] ciura() {
+        int[] base = {1, 4, 10, 23, 57, 132, 301, 701};
+        int[] out = Arrays.copyOf(base, 64);
+        int tam = base.length;
+        long h = base[base.length - 1];
+        while ((h = (long) Math.floor(h * 2.25)) <= Integer.MAX_VALUE) out[tam++] = (int) h;
+        return Arrays.copyOf(out, tam);
+    }
+
+    private static int[] tokuda() {
+        int[] out = new int[64];
+        int tam = 0;
+        for (int k = 1; ; k++) {
+            double h = Math.ceil((9 * Math.pow(2.25, k - 1) - 4) / 5);
+            if (h > Integer.MAX_VALUE) break;
+            out[tam++] = (int) h;
+        }
+        return Arrays.copyOf(out, tam);
+    }
+
+    private static int[] sedgewick() {
+        int[] out = new int[32];
+        int tam = 0;
+        out[tam++] = 1;
+        for (int k = 1; ; k++) {
+            long h = (1L << (2 * k)) + 3L * (1L << (k - 1)) + 1;
+            if (h > Integer.MAX_VALUE) break;
+            out[tam++] = (int) h;
+        }
+        return Arrays.copyOf(out, tam);
+    }
+
+    private static int[] pratt() {
+        int[] out = new int[1024];
+        int tam = 0;
+        for (long p2 = 1; p2 <= Integer.MAX_VALUE; p2 *= 2) {
+            for (long h = p2; h <= Integer.MAX_VALUE; h *= 3) out[tam++] = (int) h;
+        }
+        out = Arrays.copyOf(out, tam);
+        Arrays.sort(out);
+        return out;
+    }
+
+    private static int[] knuth() {
+        int[] out = new int[32];
+        int tam = 0;
+        for (long h = 1; h <= Integer.MAX_VALUE; h = 3 * h + 1) out[tam++] = (int) h;
+        return Arrays.copyOf(out, tam);
+    }
+}
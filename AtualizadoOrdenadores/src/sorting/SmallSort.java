@@ -0,0 +1,180 @@
+package sorting;
+
+/**
+ * Kernels para faixas pequenas de primitivos: são as folhas do quick/intro/dual-pivot
+ * e os blocos iniciais do merge bottom-up.
+ *
+ * - Até MAX_REDE elementos: rede de ordenação fixa (tabela de pares i<j por tamanho).
+ *   Cada comparador é um compare-exchange sem desvio (min/max), então o custo não
+ *   depende da entrada e não há previsão de desvio a errar.
+ * - Acima disso: rede nos primeiros MAX_REDE e inserção "arrastando" o mínimo com
+ *   min/max até o início da faixa; o laço interno sempre percorre o prefixo inteiro,
+ *   sem saída antecipada.
+ *
+ * As redes de 2 a 10 e de 14 a 16 têm o menor número de comparadores conhecido
+ * (a de 16 é a de Green, 60 comparadores); as de 11 a 13 são recortes da de 16,
+ * com um comparador a mais que o melhor conhecido.
+ *
+ * Em double, min/max são feitos com comparação '<' (mesma semântica de insertionRange),
+ * não com Math.min/Math.max, que tratam -0.0 e NaN à parte e custam mais.
+ */
+final class SmallSort {
+
+    private SmallSort() { }
+
+    static final int MAX_REDE = 16;
+
+    /** REDES[n]: comparadores da rede para n elementos, como pares (i, j) consecutivos. */
+    private static final byte[][] REDES = {
+        null, null,
+        /*  2:  1 */ { 0,1 },
+        /*  3:  3 */ { 0,2, 0,1, 1,2 },
+        /*  4:  5 */ { 0,2, 1,3, 0,1, 2,3, 1,2 },
+        /*  5:  9 */ { 0,3, 1,4, 0,2, 1,3, 0,1, 2,4, 1,2, 3,4, 2,3 },
+        /*  6: 12 */ { 0,5, 1,3, 2,4, 1,2, 3,4, 0,3, 2,5, 0,1, 2,3, 4,5,
+            1,2, 3,4 },
+        /*  7: 16 */ { 0,2, 1,3, 4,6, 0,4, 1,5, 2,6, 0,1, 2,3, 4,5, 2,4,
+            3,5, 1,4, 3,6, 1,2, 3,4, 5,6 },
+        /*  8: 19 */ { 0,2, 1,3, 4,6, 5,7, 0,4, 1,5, 2,6, 3,7, 0,1, 2,3,
+            4,5, 6,7, 2,4, 3,5, 1,4, 3,6, 1,2, 3,4, 5,6 },
+        /*  9: 25 */ { 0,3, 1,7, 2,5, 4,8, 0,7, 2,4, 3,8, 5,6, 0,2, 1,3,
+            4,5, 7,8, 1,4, 3,6, 5,7, 0,1, 2,4, 3,5, 6,8, 2,3,
+            4,5, 6,7, 1,2, 3,4, 5,6 },
+        /* 10: 29 */ { 0,8, 1,9, 2,7, 3,5, 4,6, 0,2, 1,4, 5,8, 7,9, 0,3,
+            2,4, 5,7, 6,9, 0,1, 3,6, 8,9, 1,5, 2,3, 4,8, 6,7,
+            1,2, 3,5, 4,6, 7,8, 2,3, 4,5, 6,7, 3,4, 5,6 },
+        /* 11: 36 */ { 4,8, 5,6, 9,10, 0,5, 1,7, 2,9, 3,4, 0,1, 2,3, 4,5,
+            6,8, 7,9, 0,2, 1,3, 4,10, 6,7, 8,9, 1,2, 4,6, 5,7,
+            8,10, 1,4, 2,6, 5,8, 7,10, 2,4, 3,6, 3,5, 6,8, 7,9,
+            3,4, 5,6, 7,8, 9,10, 6,7, 8,9 },
+        /* 12: 40 */ { 4,8, 5,6, 7,11, 9,10, 0,5, 1,7, 2,9, 3,4, 0,1, 2,3,
+            4,5, 6,8, 7,9, 10,11, 0,2, 1,3, 4,10, 5,11, 6,7, 8,9,
+            1,2, 4,6, 5,7, 8,10, 9,11, 1,4, 2,6, 5,8, 7,10, 2,4,
+            3,6, 3,5, 6,8, 7,9, 3,4, 5,6, 7,8, 9,10, 6,7, 8,9 },
+        /* 13: 46 */ { 1,12, 4,8, 5,6, 7,11, 9,10, 0,5, 1,7, 2,9, 3,4, 11,12,
+            0,1, 2,3, 4,5, 6,8, 7,9, 10,11, 0,2, 1,3, 4,10, 5,11,
+            6,7, 8,9, 1,2, 3,12, 4,6, 5,7, 8,10, 9,11, 1,4, 2,6,
+            5,8, 7,10, 2,4, 3,6, 9,12, 3,5, 6,8, 7,9, 10,12, 3,4,
+            5,6, 7,8, 9,10, 11,12, 6,7, 8,9 },
+        /* 14: 51 */ { 0,13, 1,12, 4,8, 5,6, 7,11, 9,10, 0,5, 1,7, 2,9, 3,4,
+            6,13, 11,12, 0,1, 2,3, 4,5, 6,8, 7,9, 10,11, 12,13, 0,2,
+            1,3, 4,10, 5,11, 6,7, 8,9, 1,2, 3,12, 4,6, 5,7, 8,10,
+            9,11, 1,4, 2,6, 5,8, 7,10, 9,13, 2,4, 3,6, 9,12, 11,13,
+            3,5, 6,8, 7,9, 10,12, 3,4, 5,6, 7,8, 9,10, 11,12, 6,7,
+            8,9 },
+        /* 15: 56 */ { 0,13, 1,12, 3,14, 4,8, 5,6, 7,11, 9,10, 0,5, 1,7, 2,9,
+            3,4, 6,13, 8,14, 11,12, 0,1, 2,3, 4,5, 6,8, 7,9, 10,11,
+            12,13, 0,2, 1,3, 4,10, 5,11, 6,7, 8,9, 12,14, 1,2, 3,12,
+            4,6, 5,7, 8,10, 9,11, 13,14, 1,4, 2,6, 5,8, 7,10, 9,13,
+            11,14, 2,4, 3,6, 9,12, 11,13, 3,5, 6,8, 7,9, 10,12, 3,4,
+            5,6, 7,8, 9,10, 11,12, 6,7, 8,9 },
+        /* 16: 60 */ { 0,13, 1,12, 2,15, 3,14, 4,8, 5,6, 7,11, 9,10, 0,5, 1,7,
+            2,9, 3,4, 6,13, 8,14, 10,15, 11,12, 0,1, 2,3, 4,5, 6,8,
+            7,9, 10,11, 12,13, 14,15, 0,2, 1,3, 4,10, 5,11, 6,7, 8,9,
+            12,14, 13,15, 1,2, 3,12, 4,6, 5,7, 8,10, 9,11, 13,14, 1,4,
+            2,6, 5,8, 7,10, 9,13, 11,14, 2,4, 3,6, 9,12, 11,13, 3,5,
+            6,8, 7,9, 10,12, 3,4, 5,6, 7,8, 9,10, 11,12, 6,7, 8,9 }
+    };
+
+    // ---------- int[] ----------
+
+    /** Ordena a[lo..hi] (inclusivo). */
+    static void sort(int[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        if (n <= MAX_REDE) {
+            if (n > 1) rede(a, lo, REDES[n]);
+            return;
+        }
+        rede(a, lo, REDES[MAX_REDE]);
+        for (int i = lo + MAX_REDE; i <= hi; i++) {
+            Metricas.comparacoes(i - lo);
+            Metricas.movimentos(i - lo + 1);
+            int v = a[i];
+            for (int j = i - 1; j >= lo; j--) {
+                int x = a[j];
+                a[j + 1] = Math.max(x, v);
+                v = Math.min(x, v);
+            }
+            a[lo] = v;
+        }
+    }
+
+    private static void rede(int[] a, int base, byte[] r) {
+        Metricas.comparacoes(r.length >>> 1);
+        Metricas.movimentos(r.length);
+        for (int c = 0; c < r.length; c += 2) {
+            int i = base + r[c], j = base + r[c + 1];
+            int x = a[i], y = a[j];
+            a[i] = Math.min(x, y);
+            a[j] = Math.max(x, y);
+        }
+    }
+
+    // ---------- long[] ----------
+
+    /** Ordena a[lo..hi] (inclusivo). */
+    static void sort(long[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        if (n <= MAX_REDE) {
+            if (n > 1) rede(a, lo, REDES[n]);
+            return;
+        }
+        rede(a, lo, REDES[MAX_REDE]);
+        for (int i = lo + MAX_REDE; i <= hi; i++) {
+            Metricas.comparacoes(i - lo);
+            Metricas.movimentos(i - lo + 1);
+            long v = a[i];
+            for (int j = i - 1; j >= lo; j--) {
+                long x = a[j];
+                a[j + 1] = Math.max(x, v);
+                v = Math.min(x, v);
+            }
+            a[lo] = v;
+        }
+    }
+
+    private static void rede(long[] a, int base, byte[] r) {
+        Metricas.comparacoes(r.length >>> 1);
+        Metricas.movimentos(r.length);
+        for (int c = 0; c < r.length; c += 2) {
+            int i = base + r[c], j = base + r[c + 1];
+            long x = a[i], y = a[j];
+            a[i] = Math.min(x, y);
+            a[j] = Math.max(x, y);
+        }
+    }
+
+    // ---------- double[] ----------
+
+    /** Ordena a[lo..hi] (inclusivo). */
+    static void sort(double[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        if (n <= MAX_REDE) {
+            if (n > 1) rede(a, lo, REDES[n]);
+            return;
+        }
+        rede(a, lo, REDES[MAX_REDE]);
+        for (int i = lo + MAX_REDE; i <= hi; i++) {
+            Metricas.comparacoes(i - lo);
+            Metricas.movimentos(i - lo + 1);
+            double v = a[i];
+            for (int j = i - 1; j >= lo; j--) {
+                double x = a[j];
+                a[j + 1] = x < v ? v : x;
+                v = x < v ? x : v;
+            }
+            a[lo] = v;
+        }
+    }
+
+    private static void rede(double[] a, int base, byte[] r) {
+        Metricas.comparacoes(r.length >>> 1);
+        Metricas.movimentos(r.length);
+        for (int c = 0; c < r.length; c += 2) {
+            int i = base + r[c], j = base + r[c + 1];
+            double x = a[i], y = a[j];
+            a[i] = x < y ? x : y;
+            a[j] = x < y ? y : x;
+        }
+    }
+}
@@ -0,0 +1,726 @@
+package sorting;
+
+import java.util.Arrays;
+
+/**
+ * Merge Sort adaptativo por corridas naturais (estilo TimSort), estável.
+ * - Detecta corridas já crescentes (ou estritamente decrescentes, que são invertidas);
+ *   corridas curtas são estendidas até 'minRun' com inserção binária.
+ * - As corridas vão para uma pilha e são intercaladas mantendo os invariantes de tamanho
+ *   do TimSort (merges balanceados, O(n log n) no pior caso).
+ * - O merge usa galope (busca exponencial) quando um lado vence muitas vezes seguidas,
+ *   copiando blocos inteiros com System.arraycopy.
+ * Entradas ASC/DESC viram uma única corrida: custo linear.
+ * Existe para Comparable e int[] (o int[] é o TIM primitivo do bench).
+ */
+public final class TimSort {
+    private TimSort() {}
+
+    /** Abaixo disso o vetor inteiro vira uma corrida só (inserção binária). */
+    private static final int MIN_MERGE = 32;
+    /** Vitórias seguidas para entrar no modo galope (ajustado dinamicamente). */
+    private static final int MIN_GALLOP = 7;
+    private static final int INITIAL_TMP = 256;
+    /** Com os invariantes da pilha, 49 corridas bastam para qualquer int length. */
+    private static final int MAX_RUNS = 49;
+
+    public static <T extends Comparable<? super T>> void sort(T[] a) {
+        if (a == null || a.length < 2) return;
+        new ObjTim<>(a).sort();
+    }
+
+    public static void sort(int[] a) {
+        if (a == null || a.length < 2) return;
+        new IntTim(a).sort();
+    }
+
+    /** minRun em [16, 32]: n / minRun fica igual (ou logo abaixo de) uma potência de 2. */
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= (n & 1);
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    // ---------- Estado de uma ordenação (Comparable) ----------
+
+    private static final class ObjTim<T extends Comparable<? super T>> {
+        private final T[] a;
+        private T[] tmp;
+        private int minGallop = MIN_GALLOP;
+        private final int[] runBase = new int[MAX_RUNS];
+        private final int[] runLen = new int[MAX_RUNS];
+        private int stackSize = 0;
+
+        ObjTim(T[] a) {
+            this.a = a;
+            this.tmp = Arrays.copyOf(a, Math.min(INITIAL_TMP, a.length >>> 1));
+            Metricas.alocacao((long) tmp.length * 4);
+        }
+
+        void sort() {
+            int lo = 0, restante = a.length;
+            final int minRun = minRunLength(restante);
+            while (restante > 0) {
+                // corrida natural; se curta, estende até minRun com inserção binária
+                int run = countRunAndMakeAscending(lo, lo + restante);
+                if (run < minRun) {
+                    int force = Math.min(restante, minRun);
+                    binaryInsertion(lo, lo + force, lo + run);
+                    run = force;
+                }
+                runBase[stackSize] = lo;
+                runLen[stackSize] = run;
+                stackSize++;
+                mergeCollapse();
+                lo += run;
+                restante -= run;
+            }
+            mergeForceCollapse();
+        }
+
+        /** Tamanho da corrida que começa em lo; se for estritamente decrescente, inverte (mantém estabilidade). */
+        private int countRunAndMakeAscending(int lo, int hi) {
+            int runHi = lo + 1;
+            if (runHi == hi) return 1;
+            if (Metricas.cmp(a[runHi++].compareTo(a[lo]) < 0)) {
+                while (runHi < hi && Metricas.cmp(a[runHi].compareTo(a[runHi - 1]) < 0)) runHi++;
+                for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                    T t = a[i]; a[i] = a[j]; a[j] = t;
+                    Metricas.troca();
+                }
+            } else {
+                while (runHi < hi && Metricas.cmp(a[runHi].compareTo(a[runHi - 1]) >= 0)) runHi++;
+            }
+            return runHi - lo;
+        }
+
+        /** Inserção binária em a[lo, hi), sabendo que a[lo, start) já está ordenado. Estável. */
+        private void binaryInsertion(int lo, int hi, int start) {
+            for (; start < hi; start++) {
+                T pivot = a[start];
+                int left = lo, right = start;
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    if (Metricas.cmp(pivot.compareTo(a[mid]) < 0)) right = mid;
+                    else left = mid + 1;
+                }
+                System.arraycopy(a, left, a, left + 1, start - left);
+                a[left] = pivot;
+                Metricas.movimentos(start - left + 1);
+            }
+        }
+
+        /** Mantém os invariantes da pilha: len[i-2] > len[i-1] + len[i] e len[i-1] > len[i]. */
+        private void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        private void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        private void mergeAt(int i) {
+            int base1 = runBase[i], len1 = runLen[i];
+            int base2 = runBase[i + 1], len2 = runLen[i + 1];
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // pula o prefixo da 1ª corrida e o sufixo da 2ª que já estão no lugar
+            int k = gallopRight(a[base2], a, base1, len1, 0);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+            len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+            if (len2 == 0) return;
+
+            if (len1 <= len2) mergeLo(base1, len1, base2, len2);
+            else              mergeHi(base1, len1, base2, len2);
+        }
+
+        /** Posição mais à esquerda para inserir key em v[base, base+len) (a partir de 'hint'). */
+        private int gallopLeft(T key, T[] v, int base, int len, int hint) {
+            int lastOfs = 0, ofs = 1;
+            if (Metricas.cmp(key.compareTo(v[base + hint]) > 0)) {
+                int maxOfs = len - hint;
+                while (ofs < maxOfs && Metricas.cmp(key.compareTo(v[base + hint + ofs]) > 0)) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                lastOfs += hint;
+                ofs += hint;
+            } else {
+                int maxOfs = hint + 1;
+                while (ofs < maxOfs && Metricas.cmp(key.compareTo(v[base + hint - ofs]) <= 0)) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                int t = lastOfs;
+                lastOfs = hint - ofs;
+                ofs = hint - t;
+            }
+            lastOfs++;
+            while (lastOfs < ofs) {
+                int m = lastOfs + ((ofs - lastOfs) >>> 1);
+                if (Metricas.cmp(key.compareTo(v[base + m]) > 0)) lastOfs = m + 1;
+                else ofs = m;
+            }
+            return ofs;
+        }
+
+        /** Posição mais à direita para inserir key em v[base, base+len) (a partir de 'hint'). */
+        private int gallopRight(T key, T[] v, int base, int len, int hint) {
+            int lastOfs = 0, ofs = 1;
+            if (Metricas.cmp(key.compareTo(v[base + hint]) < 0)) {
+                int maxOfs = hint + 1;
+                while (ofs < maxOfs && Metricas.cmp(key.compareTo(v[base + hint - ofs]) < 0)) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                int t = lastOfs;
+                lastOfs = hint - ofs;
+                ofs = hint - t;
+            } else {
+                int maxOfs = len - hint;
+                while (ofs < maxOfs && Metricas.cmp(key.compareTo(v[base + hint + ofs]) >= 0)) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                lastOfs += hint;
+                ofs += hint;
+            }
+            lastOfs++;
+            while (lastOfs < ofs) {
+                int m = lastOfs + ((ofs - lastOfs) >>> 1);
+                if (Metricas.cmp(key.compareTo(v[base + m]) < 0)) ofs = m;
+                else lastOfs = m + 1;
+            }
+            return ofs;
+        }
+
+        /** Merge da esquerda p/ direita, copiando a 1ª corrida (a menor) para tmp. */
+        private void mergeLo(int base1, int len1, int base2, int len2) {
+            Metricas.movimentos(2L * len1 + len2);
+            T[] t = ensureCapacity(len1);
+            System.arraycopy(a, base1, t, 0, len1);
+            int cursor1 = 0, cursor2 = base2, dest = base1;
+
+            a[dest++] = a[cursor2++];
+            if (--len2 == 0) {
+                System.arraycopy(t, cursor1, a, dest, len1);
+                return;
+            }
+            if (len1 == 1) {
+                System.arraycopy(a, cursor2, a, dest, len2);
+                a[dest + len2] = t[cursor1];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+                // modo normal: um a um, contando vitórias seguidas de cada lado
+                do {
+                    if (Metricas.cmp(a[cursor2].compareTo(t[cursor1]) < 0)) {
+                        a[dest++] = a[cursor2++];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 0) break outer;
+                    } else {
+                        a[dest++] = t[cursor1++];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                // modo galope: blocos inteiros via busca exponencial + binária
+                do {
+                    count1 = gallopRight(a[cursor2], t, cursor1, len1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(t, cursor1, a, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        len1 -= count1;
+                        if (len1 <= 1) break outer;
+                    }
+                    a[dest++] = a[cursor2++];
+                    if (--len2 == 0) break outer;
+
+                    count2 = gallopLeft(t[cursor1], a, cursor2, len2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(a, cursor2, a, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        len2 -= count2;
+                        if (len2 == 0) break outer;
+                    }
+                    a[dest++] = t[cursor1++];
+                    if (--len1 == 1) break outer;
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(1, minGallop);
+
+            if (len1 == 1) {
+                System.arraycopy(a, cursor2, a, dest, len2);
+                a[dest + len2] = t[cursor1];
+            } else if (len1 == 0) {
+                throw new IllegalArgumentException("compareTo viola o contrato de ordenação");
+            } else {
+                System.arraycopy(t, cursor1, a, dest, len1);
+            }
+        }
+
+        /** Merge da direita p/ esquerda, copiando a 2ª corrida (a menor) para tmp. */
+        private void mergeHi(int base1, int len1, int base2, int len2) {
+            Metricas.movimentos(len1 + 2L * len2);
+            T[] t = ensureCapacity(len2);
+            System.arraycopy(a, base2, t, 0, len2);
+            int cursor1 = base1 + len1 - 1, cursor2 = len2 - 1, dest = base2 + len2 - 1;
+
+            a[dest--] = a[cursor1--];
+            if (--len1 == 0) {
+                System.arraycopy(t, 0, a, dest - (len2 - 1), len2);
+                return;
+            }
+            if (len2 == 1) {
+                dest -= len1;
+                cursor1 -= len1;
+                System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+                a[dest] = t[cursor2];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+                do {
+                    if (Metricas.cmp(t[cursor2].compareTo(a[cursor1]) < 0)) {
+                        a[dest--] = a[cursor1--];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 0) break outer;
+                    } else {
+                        a[dest--] = t[cursor2--];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                do {
+                    count1 = len1 - gallopRight(t[cursor2], a, base1, len1, len1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        len1 -= count1;
+                        System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                        if (len1 == 0) break outer;
+                    }
+                    a[dest--] = t[cursor2--];
+                    if (--len2 == 1) break outer;
+
+                    count2 = len2 - gallopLeft(a[cursor1], t, 0, len2, len2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        len2 -= count2;
+                        System.arraycopy(t, cursor2 + 1, a, dest + 1, count2);
+                        if (len2 <= 1) break outer;
+                    }
+                    a[dest--] = a[cursor1--];
+                    if (--len1 == 0) break outer;
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(1, minGallop);
+
+            if (len2 == 1) {
+                dest -= len1;
+                cursor1 -= len1;
+                System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+                a[dest] = t[cursor2];
+            } else if (len2 == 0) {
+                throw new IllegalArgumentException("compareTo viola o contrato de ordenação");
+            } else {
+                System.arraycopy(t, 0, a, dest - (len2 - 1), len2);
+            }
+        }
+
+        /** Buffer temporário com pelo menos 'min' posições (cresce em potências de 2, até n/2). */
+        private T[] ensureCapacity(int min) {
+            if (tmp.length < min) {
+                int size = Math.max(min, Math.min(Integer.highestOneBit(min) << 1, a.length >>> 1));
+                tmp = Arrays.copyOf(a, size);
+                Metricas.alocacao((long) size * 4);
+            }
+            return tmp;
+        }
+    }
+
+    // ---------- Estado de uma ordenação (int[]) ----------
+
+    private static final class IntTim {
+        private final int[] a;
+        private int[] tmp;
+        private int minGallop = MIN_GALLOP;
+        private final int[] runBase = new int[MAX_RUNS];
+        private final int[] runLen = new int[MAX_RUNS];
+        private int stackSize = 0;
+
+        IntTim(int[] a) {
+            this.a = a;
+            this.tmp = new int[Math.min(INITIAL_TMP, a.length >>> 1)];
+            Metricas.alocacao((long) tmp.length * Integer.BYTES);
+        }
+
+        void sort() {
+            int lo = 0, restante = a.length;
+            final int minRun = minRunLength(restante);
+            while (restante > 0) {
+                int run = countRunAndMakeAscending(lo, lo + restante);
+                if (run < minRun) {
+                    int force = Math.min(restante, minRun);
+                    binaryInsertion(lo, lo + force, lo + run);
+                    run = force;
+                }
+                runBase[stackSize] = lo;
+                runLen[stackSize] = run;
+                stackSize++;
+                mergeCollapse();
+                lo += run;
+                restante -= run;
+            }
+            mergeForceCollapse();
+        }
+
+        private int countRunAndMakeAscending(int lo, int hi) {
+            int runHi = lo + 1;
+            if (runHi == hi) return 1;
+            if (Metricas.cmp(a[runHi++] < a[lo])) {
+                while (runHi < hi && Metricas.cmp(a[runHi] < a[runHi - 1])) runHi++;
+                for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                    int t = a[i]; a[i] = a[j]; a[j] = t;
+                    Metricas.troca();
+                }
+            } else {
+                while (runHi < hi && Metricas.cmp(a[runHi] >= a[runHi - 1])) runHi++;
+            }
+            return runHi - lo;
+        }
+
+        private void binaryInsertion(int lo, int hi, int start) {
+            for (; start < hi; start++) {
+                int pivot = a[start];
+                int left = lo, right = start;
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    if (Metricas.cmp(pivot < a[mid])) right = mid;
+                    else left = mid + 1;
+                }
+                System.arraycopy(a, left, a, left + 1, start - left);
+                a[left] = pivot;
+                Metricas.movimentos(start - left + 1);
+            }
+        }
+
+        private void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        private void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        private void mergeAt(int i) {
+            int base1 = runBase[i], len1 = runLen[i];
+            int base2 = runBase[i + 1], len2 = runLen[i + 1];
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            int k = gallopRight(a[base2], a, base1, len1, 0);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+            len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+            if (len2 == 0) return;
+
+            if (len1 <= len2) mergeLo(base1, len1, base2, len2);
+            else              mergeHi(base1, len1, base2, len2);
+        }
+
+        private int gallopLeft(int key, int[] v, int base, int len, int hint) {
+            int lastOfs = 0, ofs = 1;
+            if (Metricas.cmp(key > v[base + hint])) {
+                int maxOfs = len - hint;
+                while (ofs < maxOfs && Metricas.cmp(key > v[base + hint + ofs])) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                lastOfs += hint;
+                ofs += hint;
+            } else {
+                int maxOfs = hint + 1;
+                while (ofs < maxOfs && Metricas.cmp(key <= v[base + hint - ofs])) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                int t = lastOfs;
+                lastOfs = hint - ofs;
+                ofs = hint - t;
+            }
+            lastOfs++;
+            while (lastOfs < ofs) {
+                int m = lastOfs + ((ofs - lastOfs) >>> 1);
+                if (Metricas.cmp(key > v[base + m])) lastOfs = m + 1;
+                else ofs = m;
+            }
+            return ofs;
+        }
+
+        private int gallopRight(int key, int[] v, int base, int len, int hint) {
+            int lastOfs = 0, ofs = 1;
+            if (Metricas.cmp(key < v[base + hint])) {
+                int maxOfs = hint + 1;
+                while (ofs < maxOfs && Metricas.cmp(key < v[base + hint - ofs])) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                int t = lastOfs;
+                lastOfs = hint - ofs;
+                ofs = hint - t;
+            } else {
+                int maxOfs = len - hint;
+                while (ofs < maxOfs && Metricas.cmp(key >= v[base + hint + ofs])) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                lastOfs += hint;
+                ofs += hint;
+            }
+            lastOfs++;
+            while (lastOfs < ofs) {
+                int m = lastOfs + ((ofs - lastOfs) >>> 1);
+                if (Metricas.cmp(key < v[base + m])) ofs = m;
+                else lastOfs = m + 1;
+            }
+            return ofs;
+        }
+
+        private void mergeLo(int base1, int len1, int base2, int len2) {
+            Metricas.movimentos(2L * len1 + len2);
+            int[] t = ensureCapacity(len1);
+            System.arraycopy(a, base1, t, 0, len1);
+            int cursor1 = 0, cursor2 = base2, dest = base1;
+
+            a[dest++] = a[cursor2++];
+            if (--len2 == 0) {
+                System.arraycopy(t, cursor1, a, dest, len1);
+                return;
+            }
+            if (len1 == 1) {
+                System.arraycopy(a, cursor2, a, dest, len2);
+                a[dest + len2] = t[cursor1];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+                do {
+                    if (Metricas.cmp(a[cursor2] < t[cursor1])) {
+                        a[dest++] = a[cursor2++];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 0) break outer;
+                    } else {
+                        a[dest++] = t[cursor1++];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                do {
+                    count1 = gallopRight(a[cursor2], t, cursor1, len1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(t, cursor1, a, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        len1 -= count1;
+                        if (len1 <= 1) break outer;
+                    }
+                    a[dest++] = a[cursor2++];
+                    if (--len2 == 0) break outer;
+
+                    count2 = gallopLeft(t[cursor1], a, cursor2, len2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(a, cursor2, a, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        len2 -= count2;
+                        if (len2 == 0) break outer;
+                    }
+                    a[dest++] = t[cursor1++];
+                    if (--len1 == 1) break outer;
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(1, minGallop);
+
+            if (len1 == 1) {
+                System.arraycopy(a, cursor2, a, dest, len2);
+                a[dest + len2] = t[cursor1];
+            } else {
+                System.arraycopy(t, cursor1, a, dest, len1);
+            }
+        }
+
+        private void mergeHi(int base1, int len1, int base2, int len2) {
+            Metricas.movimentos(len1 + 2L * len2);
+            int[] t = ensureCapacity(len2);
+            System.arraycopy(a, base2, t, 0, len2);
+            int cursor1 = base1 + len1 - 1, cursor2 = len2 - 1, dest = base2 + len2 - 1;
+
+            a[dest--] = a[cursor1--];
+            if (--len1 == 0) {
+                System.arraycopy(t, 0, a, dest - (len2 - 1), len2);
+                return;
+            }
+            if (len2 == 1) {
+                dest -= len1;
+                cursor1 -= len1;
+                System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+                a[dest] = t[cursor2];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+                do {
+                    if (Metricas.cmp(t[cursor2] < a[cursor1])) {
+                        a[dest--] = a[cursor1--];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 0) break outer;
+                    } else {
+                        a[dest--] = t[cursor2--];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                do {
+                    count1 = len1 - gallopRight(t[cursor2], a, base1, len1, len1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        len1 -= count1;
+                        System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                        if (len1 == 0) break outer;
+                    }
+                    a[dest--] = t[cursor2--];
+                    if (--len2 == 1) break outer;
+
+                    count2 = len2 - gallopLeft(a[cursor1], t, 0, len2, len2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        len2 -= count2;
+                        System.arraycopy(t, cursor2 + 1, a, dest + 1, count2);
+                        if (len2 <= 1) break outer;
+                    }
+                    a[dest--] = a[cursor1--];
+                    if (--len1 == 0) break outer;
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(1, minGallop);
+
+            if (len2 == 1) {
+                dest -= len1;
+                cursor1 -= len1;
+                System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+                a[dest] = t[cursor2];
+            } else {
+                System.arraycopy(t, 0, a, dest - (len2 - 1), len2);
+            }
+        }
+
+        private int[] ensureCapacity(int min) {
+            if (tmp.length < min) {
+                int size = Math.max(min, Math.min(Integer.highestOneBit(min) << 1, a.length >>> 1));
+                tmp = new int[size];
+                Metricas.alocacao((long) size * Integer.BYTES);
+            }
+            return tmp;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package sorting;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * Área de trabalho reutilizável para os ordenadores que precisam de memória auxiliar
+ * (merge, counting, radix). Os buffers crescem sob demanda e são reaproveitados entre
+ * chamadas: ordenando muitos lotes pequenos com o mesmo Workspace, o caminho quente
+ * não aloca nada depois que os buffers atingem o tamanho máximo pedido.
+ *
+ * Não é thread-safe: use um Workspace por thread (ex.: ThreadLocal) e nunca compartilhe
+ * entre ordenações simultâneas.
+ */
+public final class Workspace {
+
+    private int[] ints = new int[0];
+    private long[] longs = new long[0];
+    private long[] longsAux = new long[0];
+    private double[] doubles = new double[0];
+    private Object[] objects = new Object[0];
+    private int[] counters = new int[0];
+
+    public Workspace() { }
+
+    /** Já reserva 'capacidade' posições nos buffers de int (ex.: tamanho típico do lote). */
+    public Workspace(int capacidade) {
+        intBuffer(capacidade);
+    }
+
+    /** Buffer de int com pelo menos 'min' posições (conteúdo indefinido). */
+    public int[] intBuffer(int min) {
+        if (ints.length < min) {
+            ints = new int[novoTamanho(ints.length, min)];
+            Metricas.alocacao((long) ints.length * Integer.BYTES);
+        }
+        return ints;
+    }
+
+    /** Buffer de long com pelo menos 'min' posições (conteúdo indefinido). */
+    public long[] longBuffer(int min) {
+        if (longs.length < min) {
+            longs = new long[novoTamanho(longs.length, min)];
+            Metricas.alocacao((long) longs.length * Long.BYTES);
+        }
+        return longs;
+    }
+
+    /**
+     * Segundo buffer de long, independente de longBuffer: guarda dados que depois são
+     * ordenados por RadixSort.sort(long[], n, ws), que usa longBuffer como auxiliar.
+     */
+    public long[] longAuxiliar(int min) {
+        if (longsAux.length < min) {
+            longsAux = new long[novoTamanho(longsAux.length, min)];
+            Metricas.alocacao((long) longsAux.length * Long.BYTES);
+        }
+        return longsAux;
+    }
+
+    /** Buffer de double com pelo menos 'min' posições (conteúdo indefinido). */
+    public double[] doubleBuffer(int min) {
+        if (doubles.length < min) {
+            doubles = new double[novoTamanho(doubles.length, min)];
+            Metricas.alocacao((long) doubles.length * Double.BYTES);
+        }
+        return doubles;
+    }
+
+    /**
+     * Buffer de objetos do mesmo tipo de array que 'modelo', com pelo menos 'min' posições.
+     * Se o tipo mudar entre chamadas (ex.: Integer[] -> String[]), o buffer é recriado.
+     * Obs.: o buffer continua referenciando os objetos da última ordenação.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T[] objectBuffer(T[] modelo, int min) {
+        if (objects.length < min || objects.getClass() != modelo.getClass()) {
+            int tamanho = objects.getClass() == modelo.getClass() ? novoTamanho(objects.length, min) : min;
+            objects = (Object[]) Array.newInstance(modelo.getClass().getComponentType(), tamanho);
+            Metricas.alocacao((long) tamanho * 4);
+        }
+        return (T[]) objects;
+    }
+
+    /** Contadores ZERADOS em [0, min) — para histogramas de counting/radix. */
+    public int[] counters(int min) {
+        if (counters.length < min) {
+            counters = new int[novoTamanho(counters.length, min)];
+            Metricas.alocacao((long) counters.length * Integer.BYTES);
+        } else {
+            Arrays.fill(counters, 0, min, 0);
+        }
+        return counters;
+    }
+
+    /** Cresce ~1.5x para amortizar pedidos crescentes, nunca abaixo de 'min'. */
+    private static int novoTamanho(int atual, int min) {
+        int proposta = atual + (atual >> 1);
+        return (proposta < min || proposta < 0) ? min : proposta;
+    }
+}